@@ -0,0 +1,83 @@
+package by.tms.taskmanagerapi.benchmark;
+
+import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private IssueResponseDto issue;
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"10", "100"})
+        private int pageSize;
+
+        private Page<IssueResponseDto> page;
+
+        @Setup
+        public void setUp() {
+            List<IssueResponseDto> content = new ArrayList<>();
+            for (long id = 1; id <= pageSize; id++) {
+                content.add(issue(id));
+            }
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")), 1000);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        issue = issue(1L);
+    }
+
+    @Benchmark
+    public byte[] issueResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(issue);
+    }
+
+    @Benchmark
+    public byte[] issueResponsePage(PageState state) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(state.page);
+    }
+
+    private static IssueResponseDto issue(long id) {
+        AccountResponseDto account = new AccountResponseDto();
+        account.setId(id);
+        account.setEmail("user" + id + "@gmail.com");
+        IssueResponseDto dto = new IssueResponseDto();
+        dto.setId(id);
+        dto.setTitle("Fix bug in task creation API");
+        dto.setDescription("There is a bug in the task creation API");
+        dto.setAuthor(account);
+        dto.setAssignee(account);
+        dto.setCurrentStatus(Status.IN_PROGRESS);
+        dto.setPriority(Priority.HIGH);
+        dto.setCreatedAt(LocalDateTime.now());
+        dto.setUpdatedAt(LocalDateTime.now());
+        return dto;
+    }
+}
@@ -0,0 +1,51 @@
+package by.tms.taskmanagerapi.benchmark;
+
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import by.tms.taskmanagerapi.utils.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String EMAIL = "benchmark@gmail.com";
+
+    private JwtUtil jwtUtil;
+    private AccountPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        principal = AccountPrincipal.fromToken(42L, EMAIL, "USER", 0);
+        token = jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    // Parses the token twice, once for the subject and once for the expiration
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token, EMAIL);
+    }
+
+    // Single parse, as done by JwtAuthenticationFilter
+    @Benchmark
+    public boolean isTokenValidFromClaims() {
+        return jwtUtil.isTokenValid(jwtUtil.extractClaims(token), EMAIL);
+    }
+}
@@ -0,0 +1,93 @@
+package by.tms.taskmanagerapi.benchmark;
+
+import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
+import by.tms.taskmanagerapi.dto.account.AccountView;
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.entity.*;
+import by.tms.taskmanagerapi.mapper.AccountMapper;
+import by.tms.taskmanagerapi.mapper.CommentMapper;
+import by.tms.taskmanagerapi.mapper.IssueMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final IssueMapper issueMapper = Mappers.getMapper(IssueMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+    private final AccountMapper accountMapper = Mappers.getMapper(AccountMapper.class);
+
+    private Account account;
+    private Issue issue;
+    private IssueView issueView;
+    private Comment comment;
+    private AccountView accountView;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        account = new Account();
+        account.setId(1L);
+        account.setEmail("benchmark@gmail.com");
+        account.setCreatedAt(now);
+
+        issue = new Issue();
+        issue.setId(10L);
+        issue.setTitle("Fix bug in task creation API");
+        issue.setDescription("There is a bug in the task creation API");
+        issue.setAuthor(account);
+        issue.setAssignee(account);
+        issue.setCurrentStatus(Status.IN_PROGRESS);
+        issue.setPriority(Priority.HIGH);
+        issue.setCreatedAt(now);
+        issue.setUpdatedAt(now);
+
+        issueView = new IssueView(10L, issue.getTitle(), issue.getDescription(), 1L, account.getEmail(),
+                1L, account.getEmail(), Status.IN_PROGRESS, Priority.HIGH, now, now, 3, now);
+
+        comment = new Comment();
+        comment.setId(100L);
+        comment.setContent("Reproduced on the latest build");
+        comment.setAuthor(account);
+        comment.setIssue(issue);
+        comment.setCreatedAt(now);
+        comment.setUpdatedAt(now);
+
+        accountView = new AccountView(1L, account.getEmail());
+    }
+
+    @Benchmark
+    public IssueResponseDto issueToResponseDto() {
+        return issueMapper.toIssueResponseDto(issue);
+    }
+
+    @Benchmark
+    public IssueResponseDto issueViewToResponseDto() {
+        return issueMapper.toIssueResponseDto(issueView);
+    }
+
+    @Benchmark
+    public CommentResponseDto commentToResponseDto() {
+        return commentMapper.toCommentResponseDto(comment);
+    }
+
+    @Benchmark
+    public AccountResponseDto accountToResponseDto() {
+        return accountMapper.toAccountResponseDto(account);
+    }
+
+    @Benchmark
+    public AccountResponseDto accountViewToResponseDto() {
+        return accountMapper.toAccountResponseDto(accountView);
+    }
+}
@@ -1,12 +1,17 @@
 package by.tms.taskmanagerapi.configuration;
 
 
+import by.tms.taskmanagerapi.security.TokenVersionRegistry;
 import by.tms.taskmanagerapi.service.AccountService;
+import by.tms.taskmanagerapi.utils.JwtTokenCache;
+import by.tms.taskmanagerapi.utils.JwtTokenCache.VerifiedToken;
 import by.tms.taskmanagerapi.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,28 +26,35 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final JwtTokenCache jwtTokenCache;
     private final AccountService accountService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, AccountService accountService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   JwtTokenCache jwtTokenCache,
+                                   AccountService accountService,
+                                   TokenVersionRegistry tokenVersionRegistry,
+                                   @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtUtil = jwtUtil;
+        this.jwtTokenCache = jwtTokenCache;
         this.accountService = accountService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            email = jwtUtil.extractUsername(token);
-        }
-
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = accountService.loadUserByUsername(email);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken verifiedToken = jwtTokenCache.get(authHeader.substring(7), this::verify);
+            UserDetails userDetails = verifiedToken.userDetails();
 
-            if (jwtUtil.isTokenValid(token, userDetails.getUsername())) {
+            if (userDetails.isEnabled()
+                    && jwtUtil.isTokenValid(verifiedToken.claims(), userDetails.getUsername())
+                    && isCurrentVersion(verifiedToken.claims())) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -52,4 +64,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isCurrentVersion(Claims claims) {
+        return !jwtUtil.hasAccountClaims(claims)
+                || tokenVersionRegistry.isCurrent(jwtUtil.extractAccountId(claims), jwtUtil.extractTokenVersion(claims));
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims = jwtUtil.extractClaims(token);
+        UserDetails userDetails = statelessPrincipal && jwtUtil.hasAccountClaims(claims)
+                ? jwtUtil.toPrincipal(claims)
+                : accountService.loadUserByUsername(claims.getSubject());
+        return new VerifiedToken(claims, userDetails);
+    }
 }
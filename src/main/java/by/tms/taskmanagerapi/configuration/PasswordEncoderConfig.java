@@ -0,0 +1,16 @@
+package by.tms.taskmanagerapi.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:11}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
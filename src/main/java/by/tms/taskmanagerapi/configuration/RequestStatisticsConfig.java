@@ -0,0 +1,39 @@
+package by.tms.taskmanagerapi.configuration;
+
+import by.tms.taskmanagerapi.utils.RequestStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Statement and flush counts come from RequestStatisticsSessionListener, entity loads from a post-load listener
+@Configuration
+public class RequestStatisticsConfig {
+
+    public RequestStatisticsConfig(EntityManagerFactory entityManagerFactory) {
+        PostLoadEventListener listener = event ->
+                RequestStatistics.entityLoaded(event.getSession().getPersistenceContextInternal().getNumberOfManagedEntities());
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, listener);
+    }
+
+    // Ahead of the security chain so token checks that hit the database are counted too
+    @Bean
+    public FilterRegistrationBean<RequestStatisticsFilter> requestStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${request.statistics.statement-threshold:20}") int statementThreshold) {
+        FilterRegistrationBean<RequestStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatisticsFilter(meterRegistry, statementThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
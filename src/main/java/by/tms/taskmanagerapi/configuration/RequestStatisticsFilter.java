@@ -0,0 +1,73 @@
+package by.tms.taskmanagerapi.configuration;
+
+import by.tms.taskmanagerapi.utils.RequestStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Publishes the Hibernate work of each request tagged by the controller method that served it.
+// Work handed to other threads (CompletableFuture endpoints, SSE dispatch) is not attributed.
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatisticsFilter.class);
+    private static final String UNMAPPED = "unmapped";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementThreshold;
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry, int statementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementThreshold = statementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            publish(request, RequestStatistics.stop());
+        }
+    }
+
+    private void publish(HttpServletRequest request, RequestStatistics statistics) {
+        String handler = handlerName(request);
+        summary("request.sql.statements", "JDBC statements prepared while serving the request", handler)
+                .record(statistics.getStatements());
+        summary("request.hibernate.entity.loads", "Entities loaded while serving the request", handler)
+                .record(statistics.getEntityLoads());
+        summary("request.hibernate.flushes", "Persistence context flushes while serving the request", handler)
+                .record(statistics.getFlushes());
+        summary("request.hibernate.managed.entities", "Largest persistence context while serving the request", handler)
+                .record(statistics.getManagedEntities());
+        if (statistics.getStatements() > statementThreshold) {
+            log.warn("{} {} ({}) issued {} statements: {}", request.getMethod(), request.getRequestURI(), handler,
+                    statistics.getStatements(), statistics);
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String handler) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .register(meterRegistry);
+    }
+
+    private static String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return UNMAPPED;
+    }
+}
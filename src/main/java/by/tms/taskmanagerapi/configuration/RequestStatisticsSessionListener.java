@@ -0,0 +1,18 @@
+package by.tms.taskmanagerapi.configuration;
+
+import by.tms.taskmanagerapi.utils.RequestStatistics;
+import org.hibernate.SessionEventListener;
+
+// Created by Hibernate for every session through hibernate.session.events.auto
+public class RequestStatisticsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        RequestStatistics.statementPrepared();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestStatistics.flushed(numberOfEntities);
+    }
+}
@@ -3,6 +3,7 @@ package by.tms.taskmanagerapi.configuration;
 
 import by.tms.taskmanagerapi.service.AccountService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +15,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -28,11 +29,13 @@ public class SecurityConfiguration {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AccountService accountService;
     private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
 
-    public SecurityConfiguration(JwtAuthenticationFilter jwtAuthenticationFilter, AccountService accountService, ObjectMapper objectMapper) {
+    public SecurityConfiguration(JwtAuthenticationFilter jwtAuthenticationFilter, AccountService accountService, ObjectMapper objectMapper, PasswordEncoder passwordEncoder) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.accountService = accountService;
         this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Bean
@@ -43,9 +46,12 @@ public class SecurityConfiguration {
                 .logout(AbstractHttpConfigurer::disable)
                 .formLogin(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(c ->
-                        c.requestMatchers(HttpMethod.POST, "/accounts", "/auth/**").permitAll()
+                        // Async dispatches finish requests that were authorized on the way in, e.g. /issues/stream
+                        c.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                .requestMatchers(HttpMethod.POST, "/accounts", "/auth/**").permitAll()
                                 .requestMatchers("/v3/api-docs/**",
                                         "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                                 .anyRequest().authenticated()
                 )
                 .exceptionHandling(c ->
@@ -72,7 +78,7 @@ public class SecurityConfiguration {
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         return http.getSharedObject(AuthenticationManagerBuilder.class)
                 .userDetailsService(accountService)
-                .passwordEncoder(new BCryptPasswordEncoder(11))
+                .passwordEncoder(passwordEncoder)
                 .and()
                 .build();
     }
@@ -0,0 +1,18 @@
+package by.tms.taskmanagerapi.configuration;
+
+import by.tms.taskmanagerapi.dto.issue.IssueExportFormat;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, IssueExportFormat.class,
+                source -> IssueExportFormat.valueOf(source.trim().toUpperCase(Locale.ROOT)));
+    }
+}
@@ -1,7 +1,9 @@
 package by.tms.taskmanagerapi.controller;
 
 
+import by.tms.taskmanagerapi.dto.Versioned;
 import by.tms.taskmanagerapi.dto.account.AccountCreateDto;
+import by.tms.taskmanagerapi.dto.account.AccountDeletionDto;
 import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
 import by.tms.taskmanagerapi.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,11 +15,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 
 @RestController
@@ -35,10 +43,11 @@ public class AccountController {
             @ApiResponse(description = "Account created successfully", responseCode = "201", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountResponseDto.class))),
             @ApiResponse(description = "Bad request, invalid input data", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
             @ApiResponse(description = "Account already exists", responseCode = "409", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
+            @ApiResponse(description = "Too many concurrent requests, retry later", responseCode = "503", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
     })
-    public ResponseEntity<AccountResponseDto> createAccount(@RequestBody @Valid AccountCreateDto accountCreateDto) {
-        AccountResponseDto saved = accountService.create(accountCreateDto);
-        return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<AccountResponseDto>> createAccount(@RequestBody @Valid AccountCreateDto accountCreateDto) {
+        return accountService.create(accountCreateDto)
+                .thenApply(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
     }
 
     @GetMapping()
@@ -48,18 +57,27 @@ public class AccountController {
                     @ApiResponse(description = "Bad request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
             })
     public ResponseEntity<Page<AccountResponseDto>> getAccountsList(
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        String eTag = accountService.getAccountsETag(pageable);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Page<AccountResponseDto> page = accountService.getAccounts(pageable);
-        return new ResponseEntity<>(page, HttpStatus.OK);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(page);
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get current account details", responses = {
             @ApiResponse(description = "Account details", responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountResponseDto.class)))
     })
-    public ResponseEntity<AccountResponseDto> getCurrentAccount(Authentication authentication) {
+    public ResponseEntity<AccountResponseDto> getCurrentAccount(Authentication authentication, WebRequest request) {
+        String eTag = accountService.getCurrentAccountETag(authentication);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         AccountResponseDto account = accountService.getCurrentAccount(authentication);
-        return new ResponseEntity<>(account, HttpStatus.OK);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(account);
     }
 
     @PutMapping
@@ -70,33 +88,52 @@ public class AccountController {
                     @ApiResponse(description = "Unauthorized request, user is not authenticated or does not have permission", responseCode = "401", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
             })
     public ResponseEntity<AccountResponseDto> updateAccount(@RequestBody @Valid AccountCreateDto accountCreateDto,
-                                                            Authentication authentication) {
-        AccountResponseDto account = accountService.updateAccount(accountCreateDto, authentication);
-        return new ResponseEntity<>(account, HttpStatus.OK);
+                                                            Authentication authentication,
+                                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Versioned<AccountResponseDto> account = accountService.updateAccount(accountCreateDto, authentication, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK).eTag(account.eTag()).body(account.body());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete account by ID", description = "Deletes an account by its ID. Only accessible to users with 'ADMIN' role.",
+    @Operation(summary = "Delete account by ID", description = "Disables the account at once and deletes it with its issues and comments in the background. Only accessible to users with 'ADMIN' role.",
             responses = {
-                    @ApiResponse(description = "Successfully deleted account", responseCode = "204"),
+                    @ApiResponse(description = "Deletion accepted, progress is available at the Location header", responseCode = "202", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDeletionDto.class))),
                     @ApiResponse(description = "Unauthorized, user does not have ADMIN role", responseCode = "403", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
                     @ApiResponse(description = "Account not found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
             })
-    public ResponseEntity<Void> deleteAccountById(@PathVariable Long id) {
-        accountService.deleteById(id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public ResponseEntity<AccountDeletionDto> deleteAccountById(@PathVariable Long id) {
+        return accepted(accountService.deleteById(id));
     }
 
     @DeleteMapping
-    @Operation(summary = "Delete current account", description = "Deletes the currently authenticated user's account.",
+    @Operation(summary = "Delete current account", description = "Disables the currently authenticated user's account at once and deletes it with its issues and comments in the background.",
             responses = {
-                    @ApiResponse(description = "Successfully deleted account", responseCode = "204"),
+                    @ApiResponse(description = "Deletion accepted, the account can no longer sign in", responseCode = "202", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDeletionDto.class))),
                     @ApiResponse(description = "Unauthorized, user not authenticated", responseCode = "401", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
                     @ApiResponse(description = "Forbidden, account deletion not allowed", responseCode = "403", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
             })
-    public ResponseEntity<Void> deleteCurrentAccount(Authentication authentication) {
-        accountService.delete(authentication);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public ResponseEntity<AccountDeletionDto> deleteCurrentAccount(Authentication authentication) {
+        return accepted(accountService.delete(authentication));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/deletions/{id}")
+    @Operation(summary = "Get account deletion progress", description = "Returns how much of the account's data has been removed and whether the deletion has completed. Only accessible to users with 'ADMIN' role.",
+            responses = {
+                    @ApiResponse(description = "Deletion progress", responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDeletionDto.class))),
+                    @ApiResponse(description = "Unauthorized, user does not have ADMIN role", responseCode = "403", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
+                    @ApiResponse(description = "No deletion was requested for the account", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
+            })
+    public ResponseEntity<AccountDeletionDto> getAccountDeletion(@PathVariable Long id) {
+        return new ResponseEntity<>(accountService.getDeletion(id), HttpStatus.OK);
+    }
+
+    private static ResponseEntity<AccountDeletionDto> accepted(AccountDeletionDto deletion) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/accounts/deletions/{id}")
+                .buildAndExpand(deletion.getAccountId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(deletion);
     }
 }
@@ -2,32 +2,31 @@ package by.tms.taskmanagerapi.controller;
 
 
 import by.tms.taskmanagerapi.dto.AuthRequestDto;
+import by.tms.taskmanagerapi.service.AccountService;
 import by.tms.taskmanagerapi.utils.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
     private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
+    private final AccountService accountService;
 
-    public AuthController(JwtUtil jwtUtil, AuthenticationManager authenticationManager) {
+    public AuthController(JwtUtil jwtUtil, AccountService accountService) {
         this.jwtUtil = jwtUtil;
-        this.authenticationManager = authenticationManager;
+        this.accountService = accountService;
     }
 
     @PostMapping("/login")
@@ -35,12 +34,11 @@ public class AuthController {
             description = "Authenticates a user and returns a JWT token for further authenticated requests.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Login successful, JWT token returned", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid username or password", content = @Content(mediaType = "application/json"))
+                    @ApiResponse(responseCode = "400", description = "Invalid username or password", content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "503", description = "Too many concurrent login requests, retry later", content = @Content(mediaType = "application/json"))
             })
-    public String login(@RequestBody @Valid AuthRequestDto dto) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(dto.getEmail(), dto.getPassword()));
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return jwtUtil.generateToken(userDetails.getUsername());
+    public CompletableFuture<String> login(@RequestBody @Valid AuthRequestDto dto) {
+        return accountService.authenticate(dto.getEmail(), dto.getPassword())
+                .thenApply(jwtUtil::generateToken);
     }
 }
@@ -0,0 +1,49 @@
+package by.tms.taskmanagerapi.controller;
+
+
+import by.tms.taskmanagerapi.dto.CursorPageDto;
+import by.tms.taskmanagerapi.dto.board.BoardDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.service.BoardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+@RestController
+@RequestMapping("/boards")
+public class BoardController {
+
+    private final BoardService boardService;
+
+    public BoardController(BoardService boardService) {
+        this.boardService = boardService;
+    }
+
+    @GetMapping("/default")
+    @Operation(summary = "Get the default board", description = "Fetches the top issues of every status column, ordered by priority (highest first), then by creation date (descending). Issues without a status are shown in BACKLOG.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Board retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BoardDto.class)))})
+    public ResponseEntity<BoardDto> getDefaultBoard(@RequestParam(name = "size", defaultValue = "10") int size) {
+        BoardDto board = boardService.getDefaultBoard(size);
+        return new ResponseEntity<>(board, HttpStatus.OK);
+    }
+
+    @GetMapping("/default/columns/{status}")
+    @Operation(summary = "Load more issues of a board column", description = "Fetches issues of one status column starting after the column cursor returned by the board. An empty cursor returns the first slice.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Issues retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid status or cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
+    public ResponseEntity<CursorPageDto<IssueResponseDto>> getDefaultBoardColumn(@PathVariable("status") Status status,
+                                                                                 @RequestParam(name = "after", required = false) String after,
+                                                                                 @RequestParam(name = "size", defaultValue = "10") int size) {
+        CursorPageDto<IssueResponseDto> column = boardService.getDefaultBoardColumn(status, after, size);
+        return new ResponseEntity<>(column, HttpStatus.OK);
+    }
+}
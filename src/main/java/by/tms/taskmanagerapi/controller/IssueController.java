@@ -1,27 +1,51 @@
 package by.tms.taskmanagerapi.controller;
 
 
+import by.tms.taskmanagerapi.dto.CursorPageDto;
+import by.tms.taskmanagerapi.dto.Versioned;
 import by.tms.taskmanagerapi.dto.comment.CommentCreateDto;
 import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBatchResultDto;
+import by.tms.taskmanagerapi.dto.issue.IssueChangesDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkUpdateDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkUpdateResultDto;
 import by.tms.taskmanagerapi.dto.issue.IssueCreateDto;
+import by.tms.taskmanagerapi.dto.issue.IssueExportFormat;
 import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueSearchResultDto;
+import by.tms.taskmanagerapi.dto.issue.IssueSummaryDto;
+import by.tms.taskmanagerapi.service.IssueChangesService;
+import by.tms.taskmanagerapi.service.IssueExportService;
+import by.tms.taskmanagerapi.service.IssueSearchService;
 import by.tms.taskmanagerapi.service.IssueService;
+import by.tms.taskmanagerapi.service.IssueStreamService;
+import by.tms.taskmanagerapi.service.IssueSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
 
 
 @RestController
@@ -29,9 +53,24 @@ import org.springframework.web.bind.annotation.*;
 public class IssueController {
 
     private final IssueService issueService;
+    private final IssueExportService issueExportService;
+    private final IssueSearchService issueSearchService;
+    private final IssueChangesService issueChangesService;
+    private final IssueStreamService issueStreamService;
+    private final IssueSummaryService issueSummaryService;
 
-    public IssueController(IssueService issueService) {
+    public IssueController(IssueService issueService,
+                           IssueExportService issueExportService,
+                           IssueSearchService issueSearchService,
+                           IssueChangesService issueChangesService,
+                           IssueStreamService issueStreamService,
+                           IssueSummaryService issueSummaryService) {
         this.issueService = issueService;
+        this.issueExportService = issueExportService;
+        this.issueSearchService = issueSearchService;
+        this.issueChangesService = issueChangesService;
+        this.issueStreamService = issueStreamService;
+        this.issueSummaryService = issueSummaryService;
     }
 
     @PostMapping()
@@ -48,6 +87,22 @@ public class IssueController {
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create issues in bulk", description = "Creates up to 10000 issues in one request. Every item is validated on its own and gets its own result.")
+    @ApiResponses({
+            @ApiResponse(description = "All issues created", responseCode = "201", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = IssueBatchResultDto.class)))),
+            @ApiResponse(description = "Some items were rejected, see per-item results", responseCode = "207", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = IssueBatchResultDto.class)))),
+            @ApiResponse(description = "Empty or too large batch", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
+            @ApiResponse(description = "Forbidden, user does not have ADMIN role", responseCode = "403", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
+    })
+    public ResponseEntity<List<IssueBatchResultDto>> createIssues(@RequestBody @NotEmpty @Size(max = 10000) List<IssueCreateDto> issueCreateDtos,
+                                                                  Authentication authentication) {
+        List<IssueBatchResultDto> results = issueService.createIssues(issueCreateDtos, authentication);
+        boolean allCreated = results.stream().allMatch(result -> result.getError() == null);
+        return new ResponseEntity<>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
     @PreAuthorize("hasRole('ADMIN') or @issueService.isUserAssignedToIssue(#issueId,authentication)")
     @GetMapping("/{issueId}")
     @Operation(summary = "Get an issue by its ID", description = "Fetches the details of an issue by its unique ID.")
@@ -56,9 +111,13 @@ public class IssueController {
             @ApiResponse(description = "Forbidden, user does not have required permissions", responseCode = "403", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
             @ApiResponse(description = "Issue not found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
     })
-    public ResponseEntity<IssueResponseDto> getIssueById(@PathVariable("issueId") Long issueId) {
-        IssueResponseDto issue = issueService.getIssueById(issueId);
-        return new ResponseEntity<>(issue, HttpStatus.OK);
+    public ResponseEntity<IssueResponseDto> getIssueById(@PathVariable("issueId") Long issueId, WebRequest request) {
+        String eTag = issueService.getIssueETag(issueId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Versioned<IssueResponseDto> issue = issueService.getVersionedIssueById(issueId);
+        return ResponseEntity.status(HttpStatus.OK).eTag(issue.eTag()).body(issue.body());
     }
 
     @GetMapping()
@@ -69,12 +128,93 @@ public class IssueController {
                             schema = @Schema(implementation = IssueResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
     public ResponseEntity<Page<IssueResponseDto>> getIssuePage(
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        String eTag = issueService.getIssuePageETag(pageable);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Page<IssueResponseDto> page = issueService.getIssuePage(pageable);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(page);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Get cursor-paginated list of issues", description = "Fetches issues sorted by creation date (descending) starting after the given cursor. An empty cursor returns the first slice.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Issues retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
+    public ResponseEntity<CursorPageDto<IssueResponseDto>> getIssueCursorPage(@RequestParam("after") String after,
+                                                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        CursorPageDto<IssueResponseDto> page = issueService.getIssueCursorPage(after, size);
         return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get issues changed or deleted since a watermark",
+            description = "Omit 'since' for the initial sync, then pass the returned 'next' watermark. Returns 410 when the watermark is older than the deletion log.")
+    public ResponseEntity<IssueChangesDto> getIssueChanges(@RequestParam(name = "since", required = false) String since,
+                                                           @RequestParam(name = "size", defaultValue = "100") int size) {
+        IssueChangesDto changes = issueChangesService.getChanges(since, size);
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream issue and comment changes as server-sent events",
+            description = "Events are named 'issue' or 'comment'. Filters on author and assignee are combined. " +
+                    "A 'reset' event means changes were skipped; catch up through /issues/changes. " +
+                    "'comment' events are only sent to ADMIN and the issue's assignee.")
+    public SseEmitter streamIssueChanges(@RequestParam(name = "authorId", required = false) Long authorId,
+                                         @RequestParam(name = "assigneeId", required = false) Long assigneeId,
+                                         @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+                                         Authentication authentication) {
+        return issueStreamService.subscribe(authorId, assigneeId, lastEventId, authentication);
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get issue counts per status and priority",
+            description = "Counts for the whole board, or for one assignee when 'assigneeId' is given. Served from memory.")
+    public ResponseEntity<IssueSummaryDto> getIssueSummary(@RequestParam(name = "assigneeId", required = false) Long assigneeId) {
+        IssueSummaryDto summary = issueSummaryService.getSummary(assigneeId);
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search issues", description = "Full-text search over issue titles, descriptions and comments. Every term must match; hits are ranked by relevance and come with a snippet around the first match. Comments only count on issues whose comments the caller may read (ADMIN or assignee).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search completed", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = IssueSearchResultDto.class))))})
+    public ResponseEntity<List<IssueSearchResultDto>> searchIssues(@RequestParam("q") String query,
+                                                                   @RequestParam(name = "limit", defaultValue = "20") int limit,
+                                                                   Authentication authentication) {
+        List<IssueSearchResultDto> results = issueSearchService.search(query, limit, authentication);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the search index", description = "Reloads the in-memory search index from the database. Searches keep being served from the old index until the new one is ready.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Index rebuilt"),
+            @ApiResponse(responseCode = "403", description = "Forbidden, user does not have ADMIN role", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        issueSearchService.rebuild();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export all issues", description = "Streams every issue ordered by ID as NDJSON or CSV without buffering the result set.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Issues streamed successfully", content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "403", description = "Forbidden, user does not have ADMIN role", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
+    public void exportIssues(@RequestParam(name = "format", defaultValue = "NDJSON") IssueExportFormat format,
+                             HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"issues." + format.getExtension() + "\"");
+        issueExportService.export(format, response.getOutputStream());
+    }
+
     @GetMapping("/author/{authorId}")
     @Operation(summary = "Get paginated list of issues by Author ID", description = "Fetches a paginated list of issues, sorted by creation date (descending), with a default page size of 10.")
     @ApiResponses({
@@ -87,8 +227,25 @@ public class IssueController {
             @ApiResponse(responseCode = "404", description = "Author not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
     public ResponseEntity<Page<IssueResponseDto>> getIssueByAuthorId(@PathVariable("authorId") Long authorId,
                                                                      @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
-                                                                     Pageable pageable) {
+                                                                     Pageable pageable,
+                                                                     WebRequest request) {
+        String eTag = issueService.getIssuePageByAuthorIdETag(authorId, pageable);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Page<IssueResponseDto> page = issueService.getIssuePageByAuthorId(authorId, pageable);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(page);
+    }
+
+    @GetMapping(value = "/author/{authorId}", params = "after")
+    @Operation(summary = "Get cursor-paginated list of issues by Author ID", description = "Fetches issues of the author sorted by creation date (descending) starting after the given cursor. An empty cursor returns the first slice.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Issues retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
+    public ResponseEntity<CursorPageDto<IssueResponseDto>> getIssueCursorPageByAuthorId(@PathVariable("authorId") Long authorId,
+                                                                                        @RequestParam("after") String after,
+                                                                                        @RequestParam(name = "size", defaultValue = "10") int size) {
+        CursorPageDto<IssueResponseDto> page = issueService.getIssueCursorPageByAuthorId(authorId, after, size);
         return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
@@ -103,8 +260,25 @@ public class IssueController {
     })
     public ResponseEntity<Page<IssueResponseDto>> getIssueByAssignedId(@PathVariable("assignedId") Long assignedId,
                                                                        @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
-                                                                       Pageable pageable) {
+                                                                       Pageable pageable,
+                                                                       WebRequest request) {
+        String eTag = issueService.getIssuePageByAssignedIdETag(assignedId, pageable);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Page<IssueResponseDto> page = issueService.getIssuePageByAssignedId(assignedId, pageable);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(page);
+    }
+
+    @GetMapping(value = "/assigned/{assignedId}", params = "after")
+    @Operation(summary = "Get cursor-paginated list of issues by Assigned ID", description = "Fetches issues of the assignee sorted by creation date (descending) starting after the given cursor. An empty cursor returns the first slice.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Issues retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))})
+    public ResponseEntity<CursorPageDto<IssueResponseDto>> getIssueCursorPageByAssignedId(@PathVariable("assignedId") Long assignedId,
+                                                                                          @RequestParam("after") String after,
+                                                                                          @RequestParam(name = "size", defaultValue = "10") int size) {
+        CursorPageDto<IssueResponseDto> page = issueService.getIssueCursorPageByAssignedId(assignedId, after, size);
         return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
@@ -118,9 +292,22 @@ public class IssueController {
             @ApiResponse(description = "Not found, the issue does not exist", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
     })
     public ResponseEntity<IssueResponseDto> updateIssue(@PathVariable("issueId") Long issueId,
-                                                        @RequestBody @Valid IssueCreateDto issueCreateDto) {
-        IssueResponseDto issueResponseDto = issueService.updateIssue(issueId, issueCreateDto);
-        return new ResponseEntity<>(issueResponseDto, HttpStatus.OK);
+                                                        @RequestBody @Valid IssueCreateDto issueCreateDto,
+                                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Versioned<IssueResponseDto> issue = issueService.updateIssue(issueId, issueCreateDto, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK).eTag(issue.eTag()).body(issue.body());
+    }
+
+    @PatchMapping("/bulk")
+    @Operation(summary = "Bulk update issues", description = "Sets status, priority and/or assignee on the issues selected by ids or by filter in a single update. Admins may update any issue, other users only the issues they authored.")
+    @ApiResponses({
+            @ApiResponse(description = "Issues updated successfully", responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = IssueBulkUpdateResultDto.class))),
+            @ApiResponse(description = "Bad request, invalid input data or too many matching issues", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
+            @ApiResponse(description = "Not found, the assigned user does not exist", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
+    })
+    public ResponseEntity<IssueBulkUpdateResultDto> bulkUpdateIssues(@RequestBody @Valid IssueBulkUpdateDto issueBulkUpdateDto,
+                                                                     Authentication authentication) {
+        return new ResponseEntity<>(issueService.bulkUpdateIssues(issueBulkUpdateDto, authentication), HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('ADMIN') or @issueService.isUserAssignedToIssue(#issueId,authentication)")
@@ -133,9 +320,10 @@ public class IssueController {
             @ApiResponse(description = "Not found, the issue does not exist", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
     })
     public ResponseEntity<IssueResponseDto> patchIssue(@PathVariable("issueId") Long issueId,
-                                                       @RequestBody @Valid IssueCreateDto issueCreateDto) {
-        IssueResponseDto issueResponseDto = issueService.patchIssue(issueId, issueCreateDto);
-        return new ResponseEntity<>(issueResponseDto, HttpStatus.OK);
+                                                       @RequestBody @Valid IssueCreateDto issueCreateDto,
+                                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Versioned<IssueResponseDto> issue = issueService.patchIssue(issueId, issueCreateDto, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK).eTag(issue.eTag()).body(issue.body());
     }
 
     @PreAuthorize("hasRole('ADMIN') or @issueService.isUserAssignedToIssue(#issueId,authentication)")
@@ -166,9 +354,14 @@ public class IssueController {
     public ResponseEntity<Page<CommentResponseDto>> getComments(
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
             @PathVariable("issueId") Long issueId,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest request) {
+        String eTag = issueService.getCommentsPageETag(issueId, pageable);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Page<CommentResponseDto> page = issueService.getCommentsPage(issueId, pageable);
-        return new ResponseEntity<>(page, HttpStatus.OK);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(page);
     }
 
     @PreAuthorize("@issueService.isAuthorComment(#commentId,authentication)")
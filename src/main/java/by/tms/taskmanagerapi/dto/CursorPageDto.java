@@ -0,0 +1,19 @@
+package by.tms.taskmanagerapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Slice of results addressed by an opaque cursor instead of a page number")
+public class CursorPageDto<T> {
+
+    @Schema(description = "Items of the current slice")
+    private List<T> content;
+
+    @Schema(description = "Cursor to pass as 'after' to fetch the next slice, null when there are no more items", example = "MjAyNS0wMy0yM1QxMDoxNTozMHw0Mg")
+    private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package by.tms.taskmanagerapi.dto;
+
+// Versions of a row and of the accounts embedded in its representation
+public record VersionView(Long id, Long version, Long authorVersion, Long assigneeVersion) {
+
+    public VersionView(Long id, Long version, Long authorVersion) {
+        this(id, version, authorVersion, null);
+    }
+
+    public VersionView(Long id, Long version) {
+        this(id, version, null, null);
+    }
+}
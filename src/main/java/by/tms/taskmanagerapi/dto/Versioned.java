@@ -0,0 +1,4 @@
+package by.tms.taskmanagerapi.dto;
+
+public record Versioned<T>(T body, String eTag) {
+}
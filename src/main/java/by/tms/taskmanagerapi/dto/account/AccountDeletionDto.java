@@ -0,0 +1,27 @@
+package by.tms.taskmanagerapi.dto.account;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Progress of a background account deletion")
+public class AccountDeletionDto {
+    @Schema(description = "Identifier of the account being deleted", example = "1")
+    private Long accountId;
+    @Schema(description = "When the deletion was requested and the account disabled", example = "2024-01-01T10:00:00")
+    private LocalDateTime requestedAt;
+    @Schema(description = "When the account and its data were removed, absent while the deletion is running", example = "2024-01-01T10:00:05")
+    private LocalDateTime completedAt;
+    @Schema(description = "Comments written by the account removed so far", example = "120")
+    private long deletedComments;
+    @Schema(description = "Issues of other authors unassigned from the account so far", example = "7")
+    private long unassignedIssues;
+    @Schema(description = "Issues authored by the account removed so far, with their comments", example = "35")
+    private long deletedIssues;
+}
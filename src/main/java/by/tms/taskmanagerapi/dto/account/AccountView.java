@@ -0,0 +1,4 @@
+package by.tms.taskmanagerapi.dto.account;
+
+public record AccountView(Long id, String email) {
+}
@@ -0,0 +1,24 @@
+package by.tms.taskmanagerapi.dto.board;
+
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.entity.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "One status column of a board")
+public class BoardColumnDto {
+
+    @Schema(description = "Status shown in the column", enumAsRef = true, example = "IN_PROGRESS")
+    private Status status;
+
+    @Schema(description = "Top issues of the column ordered by priority, then by creation date (descending)")
+    private List<IssueResponseDto> issues;
+
+    @Schema(description = "Cursor to pass as 'after' to the column endpoint to load more, null when the column is complete", example = "MHwyMDI1LTAzLTIzVDEwOjE1OjMwfDQy")
+    private String nextCursor;
+}
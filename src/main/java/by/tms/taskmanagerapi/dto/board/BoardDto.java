@@ -0,0 +1,16 @@
+package by.tms.taskmanagerapi.dto.board;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Kanban board with one column per status")
+public class BoardDto {
+
+    @Schema(description = "Columns in status order")
+    private List<BoardColumnDto> columns;
+}
@@ -0,0 +1,4 @@
+package by.tms.taskmanagerapi.dto.comment;
+
+public record CommentView(Long id, Long issueId, Long authorId, String content) {
+}
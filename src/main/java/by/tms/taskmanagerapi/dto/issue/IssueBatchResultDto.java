@@ -0,0 +1,30 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of a single item of a batch issue creation")
+public class IssueBatchResultDto {
+
+    @Schema(description = "Position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Identifier of the created issue, absent when the item was rejected", example = "1")
+    private Long id;
+
+    @Schema(description = "Reason the item was rejected, absent when the issue was created", example = "Assigned user not exist")
+    private String error;
+
+    public static IssueBatchResultDto created(int index, Long id) {
+        return new IssueBatchResultDto(index, id, null);
+    }
+
+    public static IssueBatchResultDto rejected(int index, String error) {
+        return new IssueBatchResultDto(index, null, error);
+    }
+}
@@ -0,0 +1,32 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "Changes applied to every selected issue, unset fields are kept")
+public class IssueBulkChangesDto {
+
+    @Schema(description = "New status of the issues", enumAsRef = true, example = "IN_PROGRESS")
+    private Status currentStatus;
+
+    @Schema(description = "New priority of the issues", enumAsRef = true, example = "HIGH")
+    private Priority priority;
+
+    @Schema(description = "ID of the new assignee of the issues", example = "67890")
+    private Long idAssignee;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one of currentStatus, priority or idAssignee must be changed")
+    public boolean isChanging() {
+        return currentStatus != null || priority != null || idAssignee != null;
+    }
+}
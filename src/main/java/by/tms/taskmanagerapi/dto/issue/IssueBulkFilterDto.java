@@ -0,0 +1,35 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "Selects issues by their current state, unset fields match any value")
+public class IssueBulkFilterDto {
+
+    @Schema(description = "Current status of the issues", enumAsRef = true, example = "BACKLOG")
+    private Status currentStatus;
+
+    @Schema(description = "Current priority of the issues", enumAsRef = true, example = "NO_PRIORITY")
+    private Priority priority;
+
+    @Schema(description = "ID of the author of the issues", example = "12345")
+    private Long authorId;
+
+    @Schema(description = "ID of the current assignee of the issues", example = "67890")
+    private Long assigneeId;
+
+    @JsonIgnore
+    @AssertTrue(message = "Filter needs at least one of currentStatus, priority, authorId or assigneeId")
+    public boolean isRestricting() {
+        return currentStatus != null || priority != null || authorId != null || assigneeId != null;
+    }
+}
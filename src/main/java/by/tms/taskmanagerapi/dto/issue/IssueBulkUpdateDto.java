@@ -0,0 +1,40 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "DTO for updating many issues at once")
+public class IssueBulkUpdateDto {
+
+    @Schema(description = "IDs of the issues to update, combined with the filter when both are given", example = "[7, 42]")
+    @Size(max = 1000, message = "At most 1000 ids can be updated at once")
+    private List<Long> ids;
+
+    @Schema(description = "Selects the issues to update by their current state")
+    @Valid
+    private IssueBulkFilterDto filter;
+
+    @Schema(description = "Changes to apply; unset fields are kept")
+    @NotNull(message = "Changes are required")
+    @Valid
+    private IssueBulkChangesDto changes;
+
+    // An empty filter would select the whole table, so it is rejected by the filter itself
+    @JsonIgnore
+    @AssertTrue(message = "Either ids or filter is required")
+    public boolean isTargeted() {
+        return (ids != null && !ids.isEmpty()) || filter != null;
+    }
+}
@@ -0,0 +1,16 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Result of a bulk update")
+public class IssueBulkUpdateResultDto {
+
+    @Schema(description = "IDs of the updated issues in ascending order", example = "[7, 42]")
+    private List<Long> updated;
+}
@@ -0,0 +1,25 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Issues created, updated or deleted after a watermark, in (change time, id) order")
+public class IssueChangesDto {
+
+    @Schema(description = "Current state of issues created or updated after the watermark")
+    private List<IssueResponseDto> changed;
+
+    @Schema(description = "Ids of issues deleted after the watermark", example = "[7, 42]")
+    private List<Long> deleted;
+
+    @Schema(description = "Watermark to pass as 'since' on the next call", example = "MjAyNS0wMy0yM1QxMDoxNTozMHw0Mg")
+    private String next;
+
+    @Schema(description = "Whether more changes are available right away")
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Number of issues with a status and priority; null stands for issues without one")
+public class IssueCountDto {
+
+    @Schema(description = "Status of the counted issues", enumAsRef = true, example = "IN_PROGRESS")
+    private Status currentStatus;
+
+    @Schema(description = "Priority of the counted issues", enumAsRef = true, example = "HIGH")
+    private Priority priority;
+
+    @Schema(description = "Number of issues", example = "12")
+    private long count;
+}
@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+
+public record IssueCountView(Status currentStatus, Priority priority, Long assigneeId, Long count) {
+}
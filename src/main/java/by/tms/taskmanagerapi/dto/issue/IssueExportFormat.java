@@ -0,0 +1,29 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Format of the issue export")
+public enum IssueExportFormat {
+
+    @Schema(description = "One JSON document per line")
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    @Schema(description = "Comma separated values with a header row")
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    IssueExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,4 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+public record IssueOwnersView(Long authorId, Long assigneeId) {
+}
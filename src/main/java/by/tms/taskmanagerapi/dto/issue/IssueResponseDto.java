@@ -42,4 +42,10 @@ public class IssueResponseDto {
 
     @Schema(description = "Date and time when the issue was last updated", example = "2025-03-23T10:15:30")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Number of comments on the issue", example = "3")
+    private int commentCount;
+
+    @Schema(description = "Date and time of the latest comment written or edited, absent when there are no comments", example = "2025-03-24T08:00:00")
+    private LocalDateTime lastActivityAt;
 }
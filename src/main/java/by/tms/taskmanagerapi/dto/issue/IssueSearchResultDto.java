@@ -0,0 +1,23 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Single hit of an issue search")
+public class IssueSearchResultDto {
+
+    @Schema(description = "Unique identifier for the issue", example = "1")
+    private Long id;
+
+    @Schema(description = "Title of the issue", example = "Bug in login page")
+    private String title;
+
+    @Schema(description = "Relevance of the hit, higher is better", example = "4.2")
+    private double score;
+
+    @Schema(description = "Fragment of the title, description or a comment around the first matched term", example = "...users cannot log in after the password reset...")
+    private String snippet;
+}
@@ -0,0 +1,22 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+
+public record IssueStateView(Status currentStatus, Priority priority, Long assigneeId) {
+
+    public static IssueStateView of(Issue issue) {
+        return new IssueStateView(issue.getCurrentStatus(), issue.getPriority(),
+                issue.getAssignee() == null ? null : issue.getAssignee().getId());
+    }
+
+    public static IssueStateView of(IssueView issue) {
+        return new IssueStateView(issue.currentStatus(), issue.priority(), issue.assigneeId());
+    }
+
+    public static IssueStateView of(IssueResponseDto issue) {
+        return new IssueStateView(issue.getCurrentStatus(), issue.getPriority(),
+                issue.getAssignee() == null ? null : issue.getAssignee().getId());
+    }
+}
@@ -0,0 +1,30 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.event.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Data of an 'issue' or 'comment' server-sent event")
+public class IssueStreamEventDto {
+
+    @Schema(description = "Kind of change", example = "UPDATED")
+    private ChangeType type;
+
+    @Schema(description = "Id of the issue the change belongs to", example = "1")
+    private Long issueId;
+
+    @Schema(description = "Id of the changed comment, only for 'comment' events", example = "7")
+    private Long commentId;
+
+    @Schema(description = "Current state of the issue, absent for deletions")
+    private IssueResponseDto issue;
+
+    @Schema(description = "Current state of the comment, absent for deletions")
+    private CommentResponseDto comment;
+}
@@ -0,0 +1,24 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Issue counts per status and priority, for the whole board or one assignee")
+public class IssueSummaryDto {
+
+    @Schema(description = "Assignee the counts are limited to, absent for the whole board", example = "67890")
+    private Long assigneeId;
+
+    @Schema(description = "Total number of issues", example = "42")
+    private long total;
+
+    @Schema(description = "Non-zero counts per status and priority")
+    private List<IssueCountDto> counts;
+}
@@ -0,0 +1,21 @@
+package by.tms.taskmanagerapi.dto.issue;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+
+import java.time.LocalDateTime;
+
+public record IssueView(Long id,
+                        String title,
+                        String description,
+                        Long authorId,
+                        String authorEmail,
+                        Long assigneeId,
+                        String assigneeEmail,
+                        Status currentStatus,
+                        Priority priority,
+                        LocalDateTime createdAt,
+                        LocalDateTime updatedAt,
+                        int commentCount,
+                        LocalDateTime lastActivityAt) {
+}
@@ -3,6 +3,11 @@ package by.tms.taskmanagerapi.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -15,22 +20,37 @@ import java.util.List;
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "accounts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
+@NaturalIdCache(region = "accounts-by-email")
 public class Account {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
     @Column(nullable = false)
     private String password;
 
+    @Version
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion;
+
+    // Set when a deletion is requested, the account is purged in the background
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean disabled;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Issue> myIssues = new ArrayList<>();
 
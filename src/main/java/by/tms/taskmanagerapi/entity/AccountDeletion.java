@@ -0,0 +1,37 @@
+package by.tms.taskmanagerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "account_deletions")
+public class AccountDeletion {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    // Also tells save() to persist instead of merging the assigned id, and keeps two purges of one account apart
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime requestedAt;
+
+    private LocalDateTime completedAt;
+
+    private long deletedComments;
+
+    private long unassignedIssues;
+
+    private long deletedIssues;
+}
@@ -2,6 +2,9 @@ package by.tms.taskmanagerapi.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
@@ -16,22 +19,27 @@ import java.util.*;
 @Getter
 @Setter
 @Table(name = "issues")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "issues")
 public class Issue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issues_seq")
+    @SequenceGenerator(name = "issues_seq", sequenceName = "issues_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "id_author")
     private Account author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_assignee")
     private Account assignee;
 
@@ -41,6 +49,23 @@ public class Issue {
     @Enumerated(EnumType.STRING)
     private Priority priority = Priority.NO_PRIORITY;
 
+    // Maintained with the comments under the issue row lock, so lists can show them without reading comments
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int commentCount;
+
+    private LocalDateTime lastActivityAt;
+
+    // Board ordering keys computed by the database (V8); read by the board queries only, never written
+    @Enumerated(EnumType.STRING)
+    @Column(insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private Status boardStatus;
+
+    @Column(insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private Integer priorityRank;
+
     @OneToMany(mappedBy = "issue", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
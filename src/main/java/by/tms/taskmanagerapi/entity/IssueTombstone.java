@@ -0,0 +1,24 @@
+package by.tms.taskmanagerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "issue_tombstones")
+public class IssueTombstone {
+
+    @Id
+    @Column(name = "issue_id")
+    private Long issueId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,5 @@
+package by.tms.taskmanagerapi.event;
+
+// Issues authored by the account and all of its comments are removed together with it
+public record AccountDeletedEvent(Long accountId) {
+}
@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
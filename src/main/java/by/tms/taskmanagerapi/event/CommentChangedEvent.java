@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.event;
+
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+
+// comment is null for DELETED
+public record CommentChangedEvent(ChangeType type, Long issueId, Long commentId, CommentResponseDto comment) {
+}
@@ -0,0 +1,12 @@
+package by.tms.taskmanagerapi.event;
+
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueStateView;
+
+// issue is null for DELETED; previous is the committed state before an UPDATED or DELETED, null for CREATED
+public record IssueChangedEvent(ChangeType type, Long issueId, IssueResponseDto issue, IssueStateView previous) {
+
+    public IssueChangedEvent(ChangeType type, Long issueId, IssueResponseDto issue) {
+        this(type, issueId, issue, null);
+    }
+}
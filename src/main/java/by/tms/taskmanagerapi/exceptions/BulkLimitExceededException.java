@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.exceptions;
+
+public class BulkLimitExceededException extends RuntimeException {
+    public BulkLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
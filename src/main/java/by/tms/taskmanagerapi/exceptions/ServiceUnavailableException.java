@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package by.tms.taskmanagerapi.exceptions;
+
+public class WatermarkExpiredException extends RuntimeException {
+    public WatermarkExpiredException(String message) {
+        super(message);
+    }
+}
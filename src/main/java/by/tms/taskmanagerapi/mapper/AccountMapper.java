@@ -1,9 +1,14 @@
 package by.tms.taskmanagerapi.mapper;
 
 import by.tms.taskmanagerapi.dto.account.AccountCreateDto;
+import by.tms.taskmanagerapi.dto.account.AccountDeletionDto;
 import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
+import by.tms.taskmanagerapi.dto.account.AccountView;
 import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.AccountDeletion;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 
@@ -11,5 +16,12 @@ import org.mapstruct.MappingTarget;
 public interface AccountMapper {
     AccountResponseDto toAccountResponseDto(Account account);
 
+    AccountResponseDto toAccountResponseDto(AccountView accountView);
+
+    AccountDeletionDto toAccountDeletionDto(AccountDeletion accountDeletion);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "email")
+    @Mapping(target = "password")
     Account updateAccount(AccountCreateDto accountCreateDto, @MappingTarget Account account);
 }
@@ -1,7 +1,9 @@
 package by.tms.taskmanagerapi.mapper;
 
+import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
 import by.tms.taskmanagerapi.dto.issue.IssueCreateDto;
 import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
 import by.tms.taskmanagerapi.entity.Account;
 import by.tms.taskmanagerapi.entity.Issue;
 import by.tms.taskmanagerapi.exceptions.NotFoundException;
@@ -11,15 +13,40 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring", uses = {AccountRepository.class})
 public interface IssueMapper {
 
+    // Only the client-editable fields are written; ids, versions, owners, counters and timestamps stay with the service
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "title")
+    @Mapping(target = "description")
+    @Mapping(target = "currentStatus")
+    @Mapping(target = "priority")
     @Mapping(target = "assignee", expression = "java(toAccount(issueCreateDto.getIdAssignee(), accountRepository))")
     Issue toIssue(IssueCreateDto issueCreateDto, @Context AccountRepository accountRepository);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "title")
+    @Mapping(target = "description")
+    @Mapping(target = "currentStatus")
+    @Mapping(target = "priority")
+    Issue toIssue(IssueCreateDto issueCreateDto);
     IssueResponseDto toIssueResponseDto(Issue issue);
 
-    @Mapping(target = "id", ignore = true)
-    Issue updateIssue(IssueCreateDto issueCreateDto, @MappingTarget Issue issue, @Context AccountRepository accountRepository);
+    @Mapping(target = "author", expression = "java(toAccountResponseDto(issueView.authorId(), issueView.authorEmail()))")
+    @Mapping(target = "assignee", expression = "java(toAccountResponseDto(issueView.assigneeId(), issueView.assigneeEmail()))")
+    IssueResponseDto toIssueResponseDto(IssueView issueView);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "title")
+    @Mapping(target = "description")
+    @Mapping(target = "currentStatus")
+    @Mapping(target = "priority")
+    Issue updateIssue(IssueCreateDto issueCreateDto, @MappingTarget Issue issue);
 
-    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
-    Issue patchIssue(IssueCreateDto issueCreateDto, @MappingTarget Issue issue, @Context AccountRepository accountRepository);
+    @BeanMapping(ignoreByDefault = true, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "title")
+    @Mapping(target = "description")
+    @Mapping(target = "currentStatus")
+    @Mapping(target = "priority")
+    Issue patchIssue(IssueCreateDto issueCreateDto, @MappingTarget Issue issue);
 
     default Account toAccount(Long id, @Context AccountRepository accountRepository) {
         if (id == null) {
@@ -27,4 +54,14 @@ public interface IssueMapper {
         }
 return accountRepository.findById(id).orElseThrow(()->new NotFoundException("Assigned user not exist"));
     }
+
+    default AccountResponseDto toAccountResponseDto(Long id, String email) {
+        if (id == null) {
+            return null;
+        }
+        AccountResponseDto accountResponseDto = new AccountResponseDto();
+        accountResponseDto.setId(id);
+        accountResponseDto.setEmail(email);
+        return accountResponseDto;
+    }
 }
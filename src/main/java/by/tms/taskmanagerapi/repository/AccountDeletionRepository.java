@@ -0,0 +1,13 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.entity.AccountDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AccountDeletionRepository extends JpaRepository<AccountDeletion, Long> {
+
+    @Query("select d.accountId from AccountDeletion d where d.completedAt is null order by d.requestedAt")
+    List<Long> findPendingAccountIds();
+}
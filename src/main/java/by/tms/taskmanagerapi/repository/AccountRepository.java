@@ -1,14 +1,34 @@
 package by.tms.taskmanagerapi.repository;
 
 
+import by.tms.taskmanagerapi.dto.VersionView;
+import by.tms.taskmanagerapi.dto.account.AccountView;
 import by.tms.taskmanagerapi.entity.Account;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findByEmail(String email);
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
     boolean existsByEmail(String email);
     Page<Account> findAll (Pageable pageable);
+
+    @Query(value = "select new by.tms.taskmanagerapi.dto.account.AccountView(a.id, a.email) from Account a",
+            countQuery = "select count(a) from Account a")
+    Page<AccountView> findAllViews(Pageable pageable);
+
+    @Query(value = "select new by.tms.taskmanagerapi.dto.VersionView(a.id, a.version) from Account a",
+            countQuery = "select count(a) from Account a")
+    Page<VersionView> findAllVersions(Pageable pageable);
+
+    @Query("select new by.tms.taskmanagerapi.dto.account.AccountView(a.id, a.email) from Account a where a.id in :ids")
+    List<AccountView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Disabled accounts have no current version, so all of their tokens are rejected
+    @Query("select a.tokenVersion from Account a where a.id = :id and a.disabled = false")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
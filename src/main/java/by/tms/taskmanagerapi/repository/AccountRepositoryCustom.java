@@ -0,0 +1,9 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.entity.Account;
+
+import java.util.Optional;
+
+public interface AccountRepositoryCustom {
+    Optional<Account> findByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.entity.Account;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public AccountRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Resolved through the natural-id cache, so repeated lookups by email do not hit the database
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Account> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Account.class)
+                .loadOptional(email);
+    }
+}
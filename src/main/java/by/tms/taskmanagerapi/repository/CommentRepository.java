@@ -1,16 +1,59 @@
 package by.tms.taskmanagerapi.repository;
 
+import by.tms.taskmanagerapi.dto.VersionView;
+import by.tms.taskmanagerapi.dto.comment.CommentView;
 import by.tms.taskmanagerapi.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     Optional<Comment> findByIdAndIssue_Id(Long id, Long issueId);
+    @EntityGraph(attributePaths = "author")
     Page<Comment> findByIssue_Id(Long issueId, Pageable pageable);
-    boolean existsByIdAndAuthor_Email(Long id, String authorEmail);
+    @Query(value = "select new by.tms.taskmanagerapi.dto.VersionView(c.id, c.version, a.version) " +
+            "from Comment c join c.author a where c.issue.id = :issueId",
+            countQuery = "select count(c) from Comment c where c.issue.id = :issueId")
+    Page<VersionView> findVersionsByIssueId(@Param("issueId") Long issueId, Pageable pageable);
     boolean existsByIdAndIssue_Id(Long id, Long issueId);
-    void deleteByIdAndIssue_Id(Long id, Long issueId);
+
+    @Query("select max(coalesce(c.updatedAt, c.createdAt)) from Comment c where c.issue.id = :issueId")
+    Optional<LocalDateTime> findLastActivityByIssueId(@Param("issueId") Long issueId);
+
+    @Query("select c.author.id from Comment c where c.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") Long id);
+    // A derived delete would load the entity first
+    @Modifying
+    @Query("delete from Comment c where c.id = :id and c.issue.id = :issueId")
+    int deleteByIdAndIssue_Id(@Param("id") Long id, @Param("issueId") Long issueId);
+
+    @Query("select new by.tms.taskmanagerapi.dto.comment.CommentView(c.id, c.issue.id, c.author.id, c.content) " +
+            "from Comment c where c.author.id = :authorId order by c.id")
+    List<CommentView> findViewsByAuthorId(@Param("authorId") Long authorId, Limit limit);
+
+    @Modifying
+    @Query("delete from Comment c where c.issue.id in :issueIds")
+    int deleteByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new by.tms.taskmanagerapi.dto.comment.CommentView(c.id, c.issue.id, c.author.id, c.content) from Comment c order by c.issue.id, c.id")
+    Stream<CommentView> streamAllViews();
 }
@@ -1,19 +1,187 @@
 package by.tms.taskmanagerapi.repository;
 
+import by.tms.taskmanagerapi.dto.VersionView;
+import by.tms.taskmanagerapi.dto.issue.IssueCountView;
+import by.tms.taskmanagerapi.dto.issue.IssueOwnersView;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
 import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.entity.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface IssueRepository extends JpaRepository<Issue, Long> {
-    boolean existsByIdAndAssignee_Email(Long issueId, String name);
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-    boolean existsByIdAndAuthor_Email(Long issueId, String authorEmail);
+public interface IssueRepository extends JpaRepository<Issue, Long>, IssueRepositoryCustom {
+    String SELECT_ISSUE_VIEW = "select new by.tms.taskmanagerapi.dto.issue.IssueView(" +
+            "i.id, i.title, i.description, a.id, a.email, s.id, s.email, " +
+            "i.currentStatus, i.priority, i.createdAt, i.updatedAt, i.commentCount, i.lastActivityAt) " +
+            "from Issue i join i.author a left join i.assignee s ";
+    String SELECT_ISSUE_VERSION = "select new by.tms.taskmanagerapi.dto.VersionView(i.id, i.version, a.version, s.version) " +
+            "from Issue i join i.author a left join i.assignee s ";
+    // Board columns: issues without a status belong to BACKLOG, the highest priority comes first.
+    // Both keys are generated columns covered by idx_issues_board (V8).
+    String BOARD_STATUS = "i.boardStatus";
+    String PRIORITY_RANK = "i.priorityRank";
+    String BOARD_ORDER = PRIORITY_RANK + ", i.createdAt desc, i.id desc";
+    String BOARD_COLUMN = "(" + SELECT_ISSUE_VIEW + "where " + BOARD_STATUS + " = by.tms.taskmanagerapi.entity.Status.";
+    String BOARD_COLUMN_PAGE = " order by " + BOARD_ORDER + " limit :perColumn)";
+    // Comment statistics as rebuilt from the comments table
+    String COMMENT_COUNT = "(select cast(count(c) as Integer) from Comment c where c.issue.id = i.id)";
+    String LAST_ACTIVITY = "(select max(coalesce(c.updatedAt, c.createdAt)) from Comment c where c.issue.id = i.id)";
 
-    Page<Issue> findAll(Pageable pageable);
+    @Query("select new by.tms.taskmanagerapi.dto.issue.IssueOwnersView(i.author.id, i.assignee.id) from Issue i where i.id = :id")
+    Optional<IssueOwnersView> findOwnersById(@Param("id") Long id);
 
-    Page<Issue> findByAuthor_Id(Long id, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    Optional<Issue> findById(Long id);
 
-    Page<Issue> findByAssignee_Id(Long assigneeId, Pageable pageable);
+    // Serializes comment changes on one issue, so the comment count and last activity move atomically.
+    // The accounts come along so the updated issue can be mapped without reading it again; only the issue row is locked.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    @Query("select i from Issue i where i.id = :id")
+    Optional<Issue> findByIdForUpdate(@Param("id") Long id);
 
+    @Query(value = SELECT_ISSUE_VIEW, countQuery = "select count(i) from Issue i")
+    Page<IssueView> findAllViews(Pageable pageable);
+
+    @Query(value = SELECT_ISSUE_VIEW + "where a.id = :authorId",
+            countQuery = "select count(i) from Issue i where i.author.id = :authorId")
+    Page<IssueView> findViewsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SELECT_ISSUE_VIEW + "where s.id = :assigneeId",
+            countQuery = "select count(i) from Issue i where i.assignee.id = :assigneeId")
+    Page<IssueView> findViewsByAssigneeId(@Param("assigneeId") Long assigneeId, Pageable pageable);
+
+    @Query(SELECT_ISSUE_VERSION + "where i.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+
+    @Query(value = SELECT_ISSUE_VERSION, countQuery = "select count(i) from Issue i")
+    Page<VersionView> findAllVersions(Pageable pageable);
+
+    @Query(value = SELECT_ISSUE_VERSION + "where a.id = :authorId",
+            countQuery = "select count(i) from Issue i where i.author.id = :authorId")
+    Page<VersionView> findVersionsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SELECT_ISSUE_VERSION + "where s.id = :assigneeId",
+            countQuery = "select count(i) from Issue i where i.assignee.id = :assigneeId")
+    Page<VersionView> findVersionsByAssigneeId(@Param("assigneeId") Long assigneeId, Pageable pageable);
+
+    @Query(SELECT_ISSUE_VIEW + "order by i.createdAt desc, i.id desc")
+    List<IssueView> findFirstViews(Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where (i.createdAt, i.id) < (:createdAt, :id) order by i.createdAt desc, i.id desc")
+    List<IssueView> findViewsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where a.id = :authorId order by i.createdAt desc, i.id desc")
+    List<IssueView> findFirstViewsByAuthorId(@Param("authorId") Long authorId, Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where a.id = :authorId and (i.createdAt, i.id) < (:createdAt, :id) " +
+            "order by i.createdAt desc, i.id desc")
+    List<IssueView> findViewsByAuthorIdAfter(@Param("authorId") Long authorId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where s.id = :assigneeId order by i.createdAt desc, i.id desc")
+    List<IssueView> findFirstViewsByAssigneeId(@Param("assigneeId") Long assigneeId, Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where s.id = :assigneeId and (i.createdAt, i.id) < (:createdAt, :id) " +
+            "order by i.createdAt desc, i.id desc")
+    List<IssueView> findViewsByAssigneeIdAfter(@Param("assigneeId") Long assigneeId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where (i.updatedAt, i.id) > (:updatedAt, :id) and i.updatedAt <= :until " +
+            "order by i.updatedAt, i.id")
+    List<IssueView> findViewsChangedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("id") Long id,
+                                          @Param("until") LocalDateTime until,
+                                          Limit limit);
+
+    // One index range per column, so the overview reads at most perColumn rows of each status
+    @Query(BOARD_COLUMN + "BACKLOG" + BOARD_COLUMN_PAGE + " union all " +
+            BOARD_COLUMN + "IN_PROGRESS" + BOARD_COLUMN_PAGE + " union all " +
+            BOARD_COLUMN + "IN_REVIEW" + BOARD_COLUMN_PAGE + " union all " +
+            BOARD_COLUMN + "DONE" + BOARD_COLUMN_PAGE)
+    List<IssueView> findBoardViews(@Param("perColumn") int perColumn);
+
+    @Query(SELECT_ISSUE_VIEW + "where " + BOARD_STATUS + " = :status order by " + BOARD_ORDER)
+    List<IssueView> findFirstBoardColumnViews(@Param("status") Status status, Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where " + BOARD_STATUS + " = :status and (" + PRIORITY_RANK + " > :priorityRank " +
+            "or (" + PRIORITY_RANK + " = :priorityRank and (i.createdAt, i.id) < (:createdAt, :id))) " +
+            "order by " + BOARD_ORDER)
+    List<IssueView> findBoardColumnViewsAfter(@Param("status") Status status,
+                                              @Param("priorityRank") int priorityRank,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    // Account purge: issues are taken in id order, a chunk at a time, until none are left
+    @Query(SELECT_ISSUE_VIEW + "where a.id = :authorId order by i.id")
+    List<IssueView> findViewsByAuthorIdOrderById(@Param("authorId") Long authorId, Limit limit);
+
+    @Query(SELECT_ISSUE_VIEW + "where s.id = :assigneeId and a.id <> :assigneeId order by i.id")
+    List<IssueView> findViewsAssignedToOthersIssues(@Param("assigneeId") Long assigneeId, Limit limit);
+
+    // Bulk updates skip auditing and versioning, so both are set here
+    @Modifying
+    @Query("update Issue i set i.assignee = null, i.version = i.version + 1, i.updatedAt = :updatedAt where i.id in :ids")
+    int unassignByIdIn(@Param("ids") Collection<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Takes the same row lock as comment changes, so the stats recomputed under it cannot miss a concurrent comment
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Issue i where i.id > :afterId and i.id <= :toId " +
+            "and (i.commentCount <> " + COMMENT_COUNT + " or i.lastActivityAt is distinct from " + LAST_ACTIVITY + ") " +
+            "order by i.id")
+    List<Long> lockDriftedCommentStats(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    // Re-checked under the lock: only rows still drifted are written, and those get a new version so their ETags change
+    @Modifying
+    @Query("update Issue i set i.commentCount = " + COMMENT_COUNT + ", i.lastActivityAt = " + LAST_ACTIVITY + ", " +
+            "i.version = i.version + 1, i.updatedAt = :updatedAt " +
+            "where i.id in :ids " +
+            "and (i.commentCount <> " + COMMENT_COUNT + " or i.lastActivityAt is distinct from " + LAST_ACTIVITY + ")")
+    int repairCommentStatsByIdIn(@Param("ids") Collection<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Issue i where i.id in :ids order by i.id")
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Issue i set i.commentCount = " + COMMENT_COUNT + ", i.lastActivityAt = " + LAST_ACTIVITY + ", " +
+            "i.version = i.version + 1, i.updatedAt = :updatedAt where i.id in :ids")
+    int refreshCommentStatsByIdIn(@Param("ids") Collection<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select max(i.id) from Issue i")
+    Optional<Long> findMaxId();
+
+    @Query("select new by.tms.taskmanagerapi.dto.issue.IssueCountView(i.currentStatus, i.priority, i.assignee.id, count(i)) " +
+            "from Issue i group by i.currentStatus, i.priority, i.assignee.id")
+    List<IssueCountView> countByStatusPriorityAndAssignee();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ISSUE_VIEW + "order by i.id")
+    Stream<IssueView> streamAllViews();
 }
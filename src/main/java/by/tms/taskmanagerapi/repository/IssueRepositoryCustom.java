@@ -0,0 +1,14 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.dto.issue.IssueBulkChangesDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkFilterDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IssueRepositoryCustom {
+    List<IssueView> lockForBulkUpdate(List<Long> ids, IssueBulkFilterDto filter, Long authorId, int limit);
+
+    int bulkUpdate(List<Long> ids, IssueBulkChangesDto changes, LocalDateTime updatedAt);
+}
@@ -0,0 +1,91 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.dto.issue.IssueBulkChangesDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkFilterDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Issue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IssueRepositoryCustomImpl implements IssueRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public IssueRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Rows are locked in id order so concurrent bulk updates cannot deadlock; no joins, so only issue rows are locked.
+    // Account emails are left null for the caller to fill in.
+    @Override
+    public List<IssueView> lockForBulkUpdate(List<Long> ids, IssueBulkFilterDto filter, Long authorId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueView> query = cb.createQuery(IssueView.class);
+        Root<Issue> issue = query.from(Issue.class);
+        query.select(cb.construct(IssueView.class,
+                issue.get("id"), issue.get("title"), issue.get("description"),
+                issue.get("author").get("id"), cb.nullLiteral(String.class),
+                issue.get("assignee").get("id"), cb.nullLiteral(String.class),
+                issue.get("currentStatus"), issue.get("priority"), issue.get("createdAt"), issue.get("updatedAt"),
+                issue.get("commentCount"), issue.get("lastActivityAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (ids != null && !ids.isEmpty()) {
+            predicates.add(issue.get("id").in(ids));
+        }
+        if (filter != null) {
+            if (filter.getCurrentStatus() != null) {
+                predicates.add(cb.equal(issue.get("currentStatus"), filter.getCurrentStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(issue.get("priority"), filter.getPriority()));
+            }
+            if (filter.getAuthorId() != null) {
+                predicates.add(cb.equal(issue.get("author").get("id"), filter.getAuthorId()));
+            }
+            if (filter.getAssigneeId() != null) {
+                predicates.add(cb.equal(issue.get("assignee").get("id"), filter.getAssigneeId()));
+            }
+        }
+        if (authorId != null) {
+            predicates.add(cb.equal(issue.get("author").get("id"), authorId));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(issue.get("id")));
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Bypasses auditing and @Version, so both are maintained here; Hibernate evicts the issues cache region afterwards
+    @Override
+    public int bulkUpdate(List<Long> ids, IssueBulkChangesDto changes, LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Issue> update = cb.createCriteriaUpdate(Issue.class);
+        Root<Issue> issue = update.from(Issue.class);
+        if (changes.getCurrentStatus() != null) {
+            update.set(issue.get("currentStatus"), changes.getCurrentStatus());
+        }
+        if (changes.getPriority() != null) {
+            update.set(issue.get("priority"), changes.getPriority());
+        }
+        if (changes.getIdAssignee() != null) {
+            update.set(issue.<Account>get("assignee"), entityManager.getReference(Account.class, changes.getIdAssignee()));
+        }
+        update.set(issue.<LocalDateTime>get("updatedAt"), updatedAt);
+        update.set(issue.<Long>get("version"), cb.sum(issue.get("version"), 1L));
+        update.where(issue.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,35 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.entity.IssueTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface IssueTombstoneRepository extends JpaRepository<IssueTombstone, Long> {
+
+    // Plain inserts: save() would merge, and so select, because the id is assigned
+    @Modifying
+    @Query("insert into IssueTombstone (issueId, deletedAt) values (:issueId, :deletedAt)")
+    int recordDeleted(@Param("issueId") Long issueId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("insert into IssueTombstone (issueId, deletedAt) select i.id, :deletedAt from Issue i where i.id in :ids")
+    int recordDeletedByIdIn(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("select t from IssueTombstone t where (t.deletedAt, t.issueId) > (:deletedAt, :issueId) and t.deletedAt <= :until " +
+            "order by t.deletedAt, t.issueId")
+    List<IssueTombstone> findAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                   @Param("issueId") Long issueId,
+                                   @Param("until") LocalDateTime until,
+                                   Limit limit);
+
+    @Modifying
+    @Query("delete from IssueTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
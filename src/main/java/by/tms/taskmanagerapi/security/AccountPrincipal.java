@@ -0,0 +1,37 @@
+package by.tms.taskmanagerapi.security;
+
+import by.tms.taskmanagerapi.entity.Account;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+@Getter
+public class AccountPrincipal extends User {
+
+    private final Long id;
+    private final String role;
+    private final int tokenVersion;
+
+    public AccountPrincipal(Long id, String email, String password, String role, int tokenVersion) {
+        this(id, email, password, role, tokenVersion, true);
+    }
+
+    public AccountPrincipal(Long id, String email, String password, String role, int tokenVersion, boolean enabled) {
+        super(email, password, enabled, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.id = id;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public static AccountPrincipal of(Account account) {
+        return new AccountPrincipal(account.getId(), account.getEmail(), account.getPassword(),
+                account.getRole().name(), account.getTokenVersion(), !account.isDisabled());
+    }
+
+    // Principal rebuilt from verified token claims, it never carries the password hash
+    public static AccountPrincipal fromToken(Long id, String email, String role, int tokenVersion) {
+        return new AccountPrincipal(id, email, "", role, tokenVersion);
+    }
+}
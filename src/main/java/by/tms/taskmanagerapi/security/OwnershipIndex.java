@@ -0,0 +1,134 @@
+package by.tms.taskmanagerapi.security;
+
+import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueOwnersView;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.event.ChangeType;
+import by.tms.taskmanagerapi.event.CommentChangedEvent;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.CommentRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+
+// Answers the ownership checks used by @PreAuthorize without a query per request.
+// Entries are written from committed change events; unknown ids are looked up and never cached as missing.
+@Component
+public class OwnershipIndex {
+
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final AccountRepository accountRepository;
+    private final Cache<Long, IssueOwnersView> issueOwners;
+    private final Cache<Long, Long> commentAuthors;
+
+    public OwnershipIndex(IssueRepository issueRepository,
+                          CommentRepository commentRepository,
+                          AccountRepository accountRepository,
+                          @Value("${authorization.ownership.max-size:100000}") long maxSize,
+                          @Value("${authorization.ownership.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.accountRepository = accountRepository;
+        this.issueOwners = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.commentAuthors = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, issueOwners, "authorization.issue-owners");
+        CaffeineCacheMetrics.monitor(meterRegistry, commentAuthors, "authorization.comment-authors");
+    }
+
+    public boolean isIssueAuthor(Long issueId, Authentication authentication) {
+        IssueOwnersView owners = issueOwners(issueId);
+        return owners != null && isAccount(owners.authorId(), authentication);
+    }
+
+    public boolean isIssueAssignee(Long issueId, Authentication authentication) {
+        IssueOwnersView owners = issueOwners(issueId);
+        return owners != null && owners.assigneeId() != null && isAccount(owners.assigneeId(), authentication);
+    }
+
+    public boolean isCommentAuthor(Long commentId, Authentication authentication) {
+        if (commentId == null) {
+            return false;
+        }
+        Long authorId = commentAuthors.get(commentId, id -> commentRepository.findAuthorIdById(id).orElse(null));
+        return authorId != null && isAccount(authorId, authentication);
+    }
+
+    // Comments follow the rule of the comment endpoints: readable by ADMIN or the issue's assignee
+    public boolean canReadComments(Long issueId, Authentication authentication) {
+        return isAdmin(authentication) || isIssueAssignee(issueId, authentication);
+    }
+
+    public static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities() != null
+                && authentication.getAuthorities().stream().anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    // Null when the caller has no account
+    public Long accountId(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof AccountPrincipal principal) {
+            return principal.getId();
+        }
+        return accountRepository.findByEmail(authentication.getName())
+                .map(Account::getId)
+                .orElse(null);
+    }
+
+    // Null when the issue does not exist
+    public IssueOwnersView issueOwners(Long issueId) {
+        if (issueId == null) {
+            return null;
+        }
+        return issueOwners.get(issueId, id -> issueRepository.findOwnersById(id).orElse(null));
+    }
+
+    private boolean isAccount(Long accountId, Authentication authentication) {
+        return accountId.equals(accountId(authentication));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            issueOwners.invalidate(event.issueId());
+            return;
+        }
+        IssueResponseDto issue = event.issue();
+        issueOwners.put(event.issueId(), new IssueOwnersView(accountId(issue.getAuthor()), accountId(issue.getAssignee())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            commentAuthors.invalidate(event.commentId());
+        } else if (event.type() == ChangeType.CREATED && event.comment().getAuthor() != null) {
+            commentAuthors.put(event.commentId(), event.comment().getAuthor().getId());
+        }
+    }
+
+    private static Long accountId(AccountResponseDto account) {
+        return account == null ? null : account.getId();
+    }
+}
@@ -0,0 +1,54 @@
+package by.tms.taskmanagerapi.security;
+
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = -1;
+
+    private final AccountRepository accountRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(AccountRepository accountRepository,
+                                @Value("${jwt.token-version.max-size:100000}") long maxSize,
+                                @Value("${jwt.token-version.ttl:5m}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "jwt.token-versions");
+    }
+
+    public boolean isCurrent(Long accountId, int tokenVersion) {
+        int current = versions.get(accountId, id -> accountRepository.findTokenVersionById(id).orElse(REVOKED));
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    // Dropped only after commit so a concurrent lookup cannot re-cache the version being replaced
+    public void invalidateAfterCommit(Long accountId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(accountId);
+                }
+            });
+        } else {
+            versions.invalidate(accountId);
+        }
+    }
+}
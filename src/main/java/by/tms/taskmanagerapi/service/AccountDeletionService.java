@@ -0,0 +1,236 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.account.AccountDeletionDto;
+import by.tms.taskmanagerapi.dto.comment.CommentView;
+import by.tms.taskmanagerapi.dto.issue.IssueStateView;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.AccountDeletion;
+import by.tms.taskmanagerapi.event.AccountDeletedEvent;
+import by.tms.taskmanagerapi.event.ChangeType;
+import by.tms.taskmanagerapi.event.CommentChangedEvent;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.exceptions.NotFoundException;
+import by.tms.taskmanagerapi.mapper.AccountMapper;
+import by.tms.taskmanagerapi.mapper.IssueMapper;
+import by.tms.taskmanagerapi.repository.AccountDeletionRepository;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.CommentRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.repository.IssueTombstoneRepository;
+import by.tms.taskmanagerapi.security.TokenVersionRegistry;
+import by.tms.taskmanagerapi.utils.JwtTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Deleting an account used to cascade through every issue and comment it owns in one transaction.
+// Now the account is disabled at once and purged by a background job, one bounded chunk per transaction.
+// Progress is stored with each chunk, so a job cut short by a restart continues where it stopped.
+@Service
+@Transactional
+public class AccountDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountDeletionService.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountDeletionRepository accountDeletionRepository;
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final IssueTombstoneRepository issueTombstoneRepository;
+    private final AccountMapper accountMapper;
+    private final IssueMapper issueMapper;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final JwtTokenCache jwtTokenCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Map<Long, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+
+    public AccountDeletionService(AccountRepository accountRepository,
+                                  AccountDeletionRepository accountDeletionRepository,
+                                  IssueRepository issueRepository,
+                                  CommentRepository commentRepository,
+                                  IssueTombstoneRepository issueTombstoneRepository,
+                                  AccountMapper accountMapper,
+                                  IssueMapper issueMapper,
+                                  TokenVersionRegistry tokenVersionRegistry,
+                                  JwtTokenCache jwtTokenCache,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${accounts.deletion.chunk-size:500}") int chunkSize) {
+        this.accountRepository = accountRepository;
+        this.accountDeletionRepository = accountDeletionRepository;
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.issueTombstoneRepository = issueTombstoneRepository;
+        this.accountMapper = accountMapper;
+        this.issueMapper = issueMapper;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.jwtTokenCache = jwtTokenCache;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    // Repeated requests for an account already being deleted return the running job
+    public AccountDeletionDto requestDeletion(Account account) {
+        if (account.isDisabled()) {
+            return getDeletion(account.getId());
+        }
+        account.setDisabled(true);
+        account.setTokenVersion(account.getTokenVersion() + 1);
+        accountRepository.save(account);
+        AccountDeletion deletion = new AccountDeletion();
+        deletion.setAccountId(account.getId());
+        deletion.setRequestedAt(LocalDateTime.now());
+        deletion = accountDeletionRepository.save(deletion);
+        tokenVersionRegistry.invalidateAfterCommit(account.getId());
+        jwtTokenCache.invalidateAllAfterCommit();
+        resumeAfterCommit(account.getId());
+        return accountMapper.toAccountDeletionDto(deletion);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountDeletionDto getDeletion(Long accountId) {
+        return accountDeletionRepository.findById(accountId)
+                .map(accountMapper::toAccountDeletionDto)
+                .orElseThrow(() -> new NotFoundException("Account deletion not found"));
+    }
+
+    // Picks up deletions left unfinished by a restart or a failed chunk
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelayString = "${accounts.deletion.resume-interval:1m}",
+            fixedDelayString = "${accounts.deletion.resume-interval:1m}")
+    public void resumePending() {
+        accountDeletionRepository.findPendingAccountIds().forEach(this::resume);
+    }
+
+    // At most one purge per account runs at a time; callers asking again share the running one
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> resume(Long accountId) {
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<Void> current = running.putIfAbsent(accountId, started);
+        if (current != null) {
+            return current;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    purge(accountId);
+                    running.remove(accountId, started);
+                    started.complete(null);
+                } catch (RuntimeException e) {
+                    running.remove(accountId, started);
+                    log.warn("Deletion of account {} stopped, it is resumed on the next run", accountId, e);
+                    started.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.remove(accountId, started);
+            started.completeExceptionally(e);
+        }
+        return started;
+    }
+
+    private void resumeAfterCommit(Long accountId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    AccountDeletionService.this.resume(accountId);
+                }
+            });
+        } else {
+            resume(accountId);
+        }
+    }
+
+    private void purge(Long accountId) {
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeChunk(accountId)))) {
+            // every chunk commits on its own, so locks are held and memory is used for one chunk only
+        }
+    }
+
+    // Comments written by the account go first, then its assignments on other authors' issues,
+    // then its own issues together with their comments, and the account row last.
+    // Returns whether another chunk is needed.
+    private boolean purgeChunk(Long accountId) {
+        AccountDeletion deletion = accountDeletionRepository.findById(accountId).orElse(null);
+        if (deletion == null || deletion.getCompletedAt() != null) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        List<CommentView> comments = commentRepository.findViewsByAuthorId(accountId, Limit.of(chunkSize));
+        if (!comments.isEmpty()) {
+            commentRepository.deleteAllByIdInBatch(comments.stream().map(CommentView::id).toList());
+            // Locked first, as comment changes do, so the recount sees comments committed in the meantime
+            List<Long> issueIds = issueRepository.lockByIdIn(comments.stream().map(CommentView::issueId).distinct().toList());
+            issueRepository.refreshCommentStatsByIdIn(issueIds, now);
+            for (CommentView comment : comments) {
+                eventPublisher.publishEvent(new CommentChangedEvent(ChangeType.DELETED, comment.issueId(), comment.id(), null));
+            }
+            deletion.setDeletedComments(deletion.getDeletedComments() + comments.size());
+            return true;
+        }
+
+        List<IssueView> assigned = issueRepository.findViewsAssignedToOthersIssues(accountId, Limit.of(chunkSize));
+        if (!assigned.isEmpty()) {
+            issueRepository.unassignByIdIn(assigned.stream().map(IssueView::id).toList(), now);
+            for (IssueView issue : assigned) {
+                IssueView unassigned = new IssueView(issue.id(), issue.title(), issue.description(),
+                        issue.authorId(), issue.authorEmail(), null, null,
+                        issue.currentStatus(), issue.priority(), issue.createdAt(), now,
+                        issue.commentCount(), issue.lastActivityAt());
+                eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.UPDATED, issue.id(),
+                        issueMapper.toIssueResponseDto(unassigned), IssueStateView.of(issue)));
+            }
+            deletion.setUnassignedIssues(deletion.getUnassignedIssues() + assigned.size());
+            return true;
+        }
+
+        List<IssueView> authored = issueRepository.findViewsByAuthorIdOrderById(accountId, Limit.of(chunkSize));
+        if (!authored.isEmpty()) {
+            List<Long> ids = authored.stream().map(IssueView::id).toList();
+            commentRepository.deleteByIssueIdIn(ids);
+            issueTombstoneRepository.recordDeletedByIdIn(ids, now);
+            issueRepository.deleteAllByIdInBatch(ids);
+            for (IssueView issue : authored) {
+                eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.DELETED, issue.id(), null, IssueStateView.of(issue)));
+            }
+            deletion.setDeletedIssues(deletion.getDeletedIssues() + authored.size());
+            return true;
+        }
+
+        // Nothing references the account any more, so removing the entity only touches its own row and caches
+        accountRepository.findById(accountId).ifPresent(accountRepository::delete);
+        tokenVersionRegistry.invalidateAfterCommit(accountId);
+        jwtTokenCache.invalidateAllAfterCommit();
+        eventPublisher.publishEvent(new AccountDeletedEvent(accountId));
+        deletion.setCompletedAt(now);
+        log.info("Deleted account {}: {} comments, {} unassigned issues, {} issues", accountId,
+                deletion.getDeletedComments(), deletion.getUnassignedIssues(), deletion.getDeletedIssues());
+        return false;
+    }
+}
@@ -1,24 +1,35 @@
 package by.tms.taskmanagerapi.service;
 
+import by.tms.taskmanagerapi.dto.VersionView;
+import by.tms.taskmanagerapi.dto.Versioned;
 import by.tms.taskmanagerapi.dto.account.AccountCreateDto;
+import by.tms.taskmanagerapi.dto.account.AccountDeletionDto;
 import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
 import by.tms.taskmanagerapi.entity.Account;
 import by.tms.taskmanagerapi.exceptions.AlreadyExistsException;
 import by.tms.taskmanagerapi.exceptions.NotFoundException;
 import by.tms.taskmanagerapi.mapper.AccountMapper;
 import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import by.tms.taskmanagerapi.security.TokenVersionRegistry;
+import by.tms.taskmanagerapi.utils.ETags;
+import by.tms.taskmanagerapi.utils.JwtTokenCache;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 @Service
@@ -26,61 +37,135 @@ import java.util.Optional;
 public class AccountService implements UserDetailsService {
 
     private final AccountRepository accountRepository;
+    private final AccountDeletionService accountDeletionService;
     private final AccountMapper accountMapper;
+    private final JwtTokenCache jwtTokenCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final String unknownAccountPassword;
 
-    public AccountService(AccountRepository accountRepository, AccountMapper accountMapper) {
+    public AccountService(AccountRepository accountRepository,
+                          AccountDeletionService accountDeletionService,
+                          AccountMapper accountMapper,
+                          JwtTokenCache jwtTokenCache,
+                          TokenVersionRegistry tokenVersionRegistry,
+                          PasswordHashingService passwordHashingService,
+                          TransactionTemplate transactionTemplate,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
         this.accountMapper = accountMapper;
         this.accountRepository = accountRepository;
+        this.accountDeletionService = accountDeletionService;
+        this.jwtTokenCache = jwtTokenCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        // Hashed once at startup, so no login pays for it on a request thread
+        this.unknownAccountPassword = passwordHashingService.encode("unknownAccountPassword").join();
     }
 
-    public AccountResponseDto create(AccountCreateDto accountCreateDto) {
+    @Transactional(readOnly = true)
+    public CompletableFuture<AccountResponseDto> create(AccountCreateDto accountCreateDto) {
         if (existByEmail(accountCreateDto.getEmail())) throw new AlreadyExistsException("Account already exists");
-        Account account = new Account();
-        account.setEmail(accountCreateDto.getEmail());
-        account.setPassword(new BCryptPasswordEncoder(11).encode(accountCreateDto.getPassword()));
-        account = accountRepository.save(account);
-        return accountMapper.toAccountResponseDto(account);
+        return passwordHashingService.encode(accountCreateDto.getPassword())
+                .thenApplyAsync(encodedPassword -> insert(accountCreateDto.getEmail(), encodedPassword), taskExecutor);
     }
 
+    // The email check above runs before hashing, so a concurrent registration may take the email in the meantime;
+    // the unique constraint decides, and the loser gets the same conflict as a sequential duplicate
+    private AccountResponseDto insert(String email, String encodedPassword) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Account account = new Account();
+                account.setEmail(email);
+                account.setPassword(encodedPassword);
+                account = accountRepository.saveAndFlush(account);
+                return accountMapper.toAccountResponseDto(account);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsException("Account already exists");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CompletableFuture<AccountPrincipal> authenticate(String email, String password) {
+        Optional<AccountPrincipal> principal = accountRepository.findByEmail(email).map(AccountPrincipal::of);
+        // Unknown emails are checked against a dummy hash so they take as long as a wrong password
+        String encodedPassword = principal.map(AccountPrincipal::getPassword).orElse(unknownAccountPassword);
+        return passwordHashingService.matches(password, encodedPassword)
+                .thenApply(matches -> principal.filter(p -> matches && p.isEnabled())
+                        .orElseThrow(() -> new BadCredentialsException("Bad credentials")));
+    }
+
+    @Transactional(readOnly = true)
     public boolean existByEmail(String email) {
      return accountRepository.existsByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public AccountResponseDto getCurrentAccount(Authentication authentication) {
         Account account = accountRepository.findByEmail(authentication.getName()).orElseThrow(() -> new NotFoundException("Account not found"));
         return accountMapper.toAccountResponseDto(account);
     }
 
+    // The natural-id lookup is served by the second-level cache, so this usually costs no statement
+    @Transactional(readOnly = true)
+    public String getCurrentAccountETag(Authentication authentication) {
+        Account account = accountRepository.findByEmail(authentication.getName()).orElseThrow(() -> new NotFoundException("Account not found"));
+        return accountETag(account);
+    }
+
+    @Transactional(readOnly = true)
+    public String getAccountsETag(Pageable pageable) {
+        return ETags.of(accountRepository.findAllVersions(pageable));
+    }
+
+    @Transactional(readOnly = true)
     public Page<AccountResponseDto> getAccounts(Pageable pageable) {
-        return accountRepository.findAll(pageable).map(accountMapper::toAccountResponseDto);
+        return accountRepository.findAllViews(pageable).map(accountMapper::toAccountResponseDto);
     }
 
     public AccountResponseDto updateAccount(AccountCreateDto accountCreateDto, Authentication authentication) {
+        return updateAccount(accountCreateDto, authentication, null).body();
+    }
+
+    public Versioned<AccountResponseDto> updateAccount(AccountCreateDto accountCreateDto, Authentication authentication, String ifMatch) {
         Account account = accountRepository.findByEmail(authentication.getName()).orElseThrow(() -> new NotFoundException("Account not found"));
+         ETags.checkIfMatch(ifMatch, accountETag(account));
          account = accountMapper.updateAccount(accountCreateDto, account);
-         account = accountRepository.save(account);
-         return accountMapper.toAccountResponseDto(account);
+         account.setTokenVersion(account.getTokenVersion() + 1);
+         account = accountRepository.saveAndFlush(account);
+         tokenVersionRegistry.invalidateAfterCommit(account.getId());
+         jwtTokenCache.invalidateAllAfterCommit();
+         return new Versioned<>(accountMapper.toAccountResponseDto(account), accountETag(account));
     }
 
-    public void deleteById(Long id) {
+    private String accountETag(Account account) {
+        return ETags.of(new VersionView(account.getId(), account.getVersion()));
+    }
+
+    public AccountDeletionDto deleteById(Long id) {
         Account account = accountRepository.findById(id).orElseThrow(() -> new NotFoundException("Account not found"));
-        accountRepository.delete(account);
+        return accountDeletionService.requestDeletion(account);
     }
 
-    public void delete(Authentication authentication) {
+    public AccountDeletionDto delete(Authentication authentication) {
         Account account = accountRepository.findByEmail(authentication.getName()).orElseThrow(() -> new NotFoundException("Account not found"));
-        accountRepository.delete(account);
+        return accountDeletionService.requestDeletion(account);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountDeletionDto getDeletion(Long accountId) {
+        return accountDeletionService.getDeletion(accountId);
     }
 
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Optional<Account> account = accountRepository.findByEmail(email);
         if (account.isPresent()) {
-            var acc = account.get();
-            return User
-                    .withUsername(acc.getEmail())
-                    .password(acc.getPassword())
-                    .roles(acc.getRole().name())
-                    .build();
+            return AccountPrincipal.of(account.get());
         }
         throw new UsernameNotFoundException(email);
     }
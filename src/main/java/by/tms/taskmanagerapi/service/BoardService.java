@@ -0,0 +1,86 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.CursorPageDto;
+import by.tms.taskmanagerapi.dto.board.BoardColumnDto;
+import by.tms.taskmanagerapi.dto.board.BoardDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.mapper.IssueMapper;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.utils.BoardCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class BoardService {
+    private static final int MAX_COLUMN_SIZE = 100;
+    private static final Comparator<IssueView> COLUMN_ORDER = Comparator
+            .comparingInt((IssueView issue) -> BoardCursor.priorityRank(issue.priority()))
+            .thenComparing(IssueView::createdAt, Comparator.reverseOrder())
+            .thenComparing(IssueView::id, Comparator.reverseOrder());
+
+    private final IssueRepository issueRepository;
+    private final IssueMapper issueMapper;
+
+    public BoardService(IssueRepository issueRepository, IssueMapper issueMapper) {
+        this.issueRepository = issueRepository;
+        this.issueMapper = issueMapper;
+    }
+
+    // All columns come from one statement; one extra row per column tells whether it has more
+    @Transactional(readOnly = true)
+    public BoardDto getDefaultBoard(int size) {
+        int columnSize = columnSize(size);
+        Map<Status, List<IssueView>> columns = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            columns.put(status, new ArrayList<>());
+        }
+        for (IssueView issue : issueRepository.findBoardViews(columnSize + 1)) {
+            columns.get(boardStatus(issue)).add(issue);
+        }
+        // SQL keeps each part's order but does not promise it across a union
+        columns.values().forEach(issues -> issues.sort(COLUMN_ORDER));
+        List<BoardColumnDto> result = new ArrayList<>();
+        columns.forEach((status, issues) -> {
+            CursorPageDto<IssueResponseDto> column = toColumnPage(issues, columnSize);
+            result.add(new BoardColumnDto(status, column.getContent(), column.getNextCursor()));
+        });
+        return new BoardDto(result);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<IssueResponseDto> getDefaultBoardColumn(Status status, String after, int size) {
+        BoardCursor cursor = BoardCursor.decode(after);
+        int columnSize = columnSize(size);
+        Limit limit = Limit.of(columnSize + 1);
+        List<IssueView> issues = cursor == null
+                ? issueRepository.findFirstBoardColumnViews(status, limit)
+                : issueRepository.findBoardColumnViewsAfter(status, cursor.priorityRank(), cursor.createdAt(), cursor.id(), limit);
+        return toColumnPage(issues, columnSize);
+    }
+
+    private int columnSize(int size) {
+        return Math.max(1, Math.min(size, MAX_COLUMN_SIZE));
+    }
+
+    private Status boardStatus(IssueView issue) {
+        return issue.currentStatus() == null ? Status.BACKLOG : issue.currentStatus();
+    }
+
+    private CursorPageDto<IssueResponseDto> toColumnPage(List<IssueView> issues, int size) {
+        String nextCursor = null;
+        if (issues.size() > size) {
+            issues = issues.subList(0, size);
+            nextCursor = BoardCursor.of(issues.get(size - 1)).encode();
+        }
+        return new CursorPageDto<>(issues.stream().map(issueMapper::toIssueResponseDto).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,104 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueChangesDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.entity.IssueTombstone;
+import by.tms.taskmanagerapi.exceptions.WatermarkExpiredException;
+import by.tms.taskmanagerapi.mapper.IssueMapper;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.repository.IssueTombstoneRepository;
+import by.tms.taskmanagerapi.utils.SyncWatermark;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Delta sync for board replicas. Changed issues and tombstones are two streams in the same
+// (changedAt, id) order; each is read from its index up to the page size and merged here,
+// so a call costs two range scans however large the board is.
+@Service
+@Transactional(readOnly = true)
+public class IssueChangesService {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final IssueRepository issueRepository;
+    private final IssueTombstoneRepository issueTombstoneRepository;
+    private final IssueMapper issueMapper;
+    private final Duration commitLag;
+    private final Duration tombstoneRetention;
+
+    public IssueChangesService(IssueRepository issueRepository,
+                               IssueTombstoneRepository issueTombstoneRepository,
+                               IssueMapper issueMapper,
+                               @Value("${issues.changes.commit-lag:5s}") Duration commitLag,
+                               @Value("${issues.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.issueRepository = issueRepository;
+        this.issueTombstoneRepository = issueTombstoneRepository;
+        this.issueMapper = issueMapper;
+        this.commitLag = commitLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public IssueChangesDto getChanges(String since, int size) {
+        SyncWatermark watermark = SyncWatermark.decode(since);
+        LocalDateTime now = LocalDateTime.now();
+        if (watermark == null) {
+            watermark = SyncWatermark.START;
+        } else if (watermark.changedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new WatermarkExpiredException("Watermark is older than the deletion log, resynchronize without 'since'");
+        }
+        // updatedAt is stamped before commit, so the newest rows may still be joined by slower transactions
+        LocalDateTime until = now.minus(commitLag);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        List<IssueView> changed = issueRepository.findViewsChangedAfter(watermark.changedAt(), watermark.id(), until, limit);
+        List<IssueTombstone> deleted = issueTombstoneRepository.findAfter(watermark.changedAt(), watermark.id(), until, limit);
+
+        List<IssueResponseDto> changedPage = new ArrayList<>();
+        List<Long> deletedPage = new ArrayList<>();
+        SyncWatermark last = null;
+        int c = 0;
+        int d = 0;
+        while (changedPage.size() + deletedPage.size() < pageSize && (c < changed.size() || d < deleted.size())) {
+            SyncWatermark nextChanged = c < changed.size() ? position(changed.get(c)) : null;
+            SyncWatermark nextDeleted = d < deleted.size() ? position(deleted.get(d)) : null;
+            if (nextDeleted == null || (nextChanged != null && nextChanged.compareTo(nextDeleted) < 0)) {
+                changedPage.add(issueMapper.toIssueResponseDto(changed.get(c++)));
+                last = nextChanged;
+            } else {
+                deletedPage.add(deleted.get(d++).getIssueId());
+                last = nextDeleted;
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        // Once everything up to 'until' has been returned the watermark can move there, so idle replicas don't expire
+        SyncWatermark next = hasMore ? last : max(watermark, new SyncWatermark(until, Long.MAX_VALUE));
+        return new IssueChangesDto(changedPage, deletedPage, next.encode(), hasMore);
+    }
+
+    @Transactional
+    @Scheduled(initialDelayString = "${issues.changes.tombstone-purge-interval:1h}",
+            fixedDelayString = "${issues.changes.tombstone-purge-interval:1h}")
+    public void purgeTombstones() {
+        issueTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    private static SyncWatermark position(IssueView issue) {
+        return new SyncWatermark(issue.updatedAt(), issue.id());
+    }
+
+    private static SyncWatermark position(IssueTombstone tombstone) {
+        return new SyncWatermark(tombstone.getDeletedAt(), tombstone.getIssueId());
+    }
+
+    private static SyncWatermark max(SyncWatermark left, SyncWatermark right) {
+        return left.compareTo(right) >= 0 ? left : right;
+    }
+}
@@ -0,0 +1,60 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Issue.commentCount and lastActivityAt are maintained by IssueService with every comment change.
+// Writes that bypass it (imports, manual SQL) are corrected here, one id range per transaction:
+// drifted rows are locked like a comment change locks them, then recomputed and rewritten.
+// Under READ COMMITTED the UPDATE that follows the lock sees every comment committed before it.
+@Service
+public class IssueCommentStatsService {
+
+    private final IssueRepository issueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+    private final Timer repairTimer;
+    private final Counter repaired;
+
+    public IssueCommentStatsService(IssueRepository issueRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${issues.comment-stats.repair-chunk-size:10000}") long chunkSize,
+                                    MeterRegistry meterRegistry) {
+        this.issueRepository = issueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.repairTimer = Timer.builder("issues.comment-stats.repair.duration").register(meterRegistry);
+        this.repaired = Counter.builder("issues.comment-stats.repaired")
+                .description("Issues whose comment count or last activity was rebuilt")
+                .register(meterRegistry);
+    }
+
+    // Returns the number of issues that were corrected
+    @Scheduled(initialDelayString = "${issues.comment-stats.repair-interval:6h}",
+            fixedDelayString = "${issues.comment-stats.repair-interval:6h}")
+    public int repair() {
+        return repairTimer.record(() -> {
+            long maxId = issueRepository.findMaxId().orElse(0L);
+            int total = 0;
+            for (long afterId = 0; afterId < maxId; afterId += chunkSize) {
+                long from = afterId;
+                Integer count = transactionTemplate.execute(status -> {
+                    List<Long> drifted = issueRepository.lockDriftedCommentStats(from, from + chunkSize);
+                    return drifted.isEmpty() ? 0 : issueRepository.repairCommentStatsByIdIn(drifted, LocalDateTime.now());
+                });
+                total += count == null ? 0 : count;
+            }
+            repaired.increment(total);
+            return total;
+        });
+    }
+}
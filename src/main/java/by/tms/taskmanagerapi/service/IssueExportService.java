@@ -0,0 +1,102 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueExportFormat;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.mapper.IssueMapper;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class IssueExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER = "id,title,description,authorId,authorEmail,assigneeId,assigneeEmail," +
+            "currentStatus,priority,createdAt,updatedAt,commentCount,lastActivityAt";
+
+    private final IssueRepository issueRepository;
+    private final IssueMapper issueMapper;
+    private final ObjectMapper objectMapper;
+
+    public IssueExportService(IssueRepository issueRepository, IssueMapper issueMapper, ObjectMapper objectMapper) {
+        this.issueRepository = issueRepository;
+        this.issueMapper = issueMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    // Rows are projections, not entities, so the persistence context stays empty however many rows are streamed
+    public void export(IssueExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<IssueView> issues = issueRepository.streamAllViews()) {
+            if (format == IssueExportFormat.CSV) {
+                writeCsv(issues.iterator(), writer);
+            } else {
+                writeNdjson(issues.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<IssueView> issues, Writer writer) throws IOException {
+        SequenceWriter sequenceWriter = objectMapper.writerFor(IssueResponseDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        int written = 0;
+        while (issues.hasNext()) {
+            sequenceWriter.write(issueMapper.toIssueResponseDto(issues.next()));
+            if (++written % FLUSH_EVERY == 0) {
+                sequenceWriter.flush();
+            }
+        }
+        if (written > 0) {
+            writer.write('\n');
+        }
+        sequenceWriter.flush();
+    }
+
+    private void writeCsv(Iterator<IssueView> issues, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (issues.hasNext()) {
+            IssueView issue = issues.next();
+            writer.write(String.join(",",
+                    csv(issue.id()), csv(issue.title()), csv(issue.description()),
+                    csv(issue.authorId()), csv(issue.authorEmail()),
+                    csv(issue.assigneeId()), csv(issue.assigneeEmail()),
+                    csv(issue.currentStatus()), csv(issue.priority()),
+                    csv(issue.createdAt()), csv(issue.updatedAt()),
+                    csv(issue.commentCount()), csv(issue.lastActivityAt())));
+            writer.write('\n');
+            if (++written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,504 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.comment.CommentView;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueSearchResultDto;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.event.AccountDeletedEvent;
+import by.tms.taskmanagerapi.event.ChangeType;
+import by.tms.taskmanagerapi.event.CommentChangedEvent;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.repository.CommentRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.security.OwnershipIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+public class IssueSearchService {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MAX_RESULTS = 100;
+    private static final int SNIPPET_RADIUS = 80;
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float COMMENT_WEIGHT = 0.5f;
+    // Approximate heap cost of the map entries behind each document, term and posting
+    private static final long DOCUMENT_BYTES = 160;
+    private static final long TERM_BYTES = 120;
+    private static final long POSTING_BYTES = 72;
+
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::issueId);
+
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final OwnershipIndex ownershipIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer searchTimer;
+    private final boolean buildOnStartup;
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+    // Changes committed while a rebuild streams the tables, replayed onto the new index before it is swapped in
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    public IssueSearchService(IssueRepository issueRepository,
+                              CommentRepository commentRepository,
+                              OwnershipIndex ownershipIndex,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${issues.search.build-on-startup:true}") boolean buildOnStartup) {
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.ownershipIndex = ownershipIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.buildOnStartup = buildOnStartup;
+        this.searchTimer = Timer.builder("issues.search.duration")
+                .description("Time spent answering issue search queries")
+                .register(meterRegistry);
+        Gauge.builder("issues.search.documents", this, service -> service.index.documents.size())
+                .description("Issues held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("issues.search.terms", this, service -> service.index.postings.size())
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+        Gauge.builder("issues.search.postings", this, service -> service.index.postingCount.get())
+                .description("Term to issue entries in the search index")
+                .register(meterRegistry);
+        Gauge.builder("issues.search.memory", this, service -> service.index.estimatedBytes())
+                .description("Estimated heap used by the search index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (buildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public synchronized int rebuild() {
+        synchronized (writeLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        Index rebuilt = null;
+        try {
+            rebuilt = transactionTemplate.execute(status -> load());
+        } finally {
+            synchronized (writeLock) {
+                if (rebuilt != null) {
+                    for (Consumer<Index> change : pendingDuringRebuild) {
+                        change.accept(rebuilt);
+                    }
+                    index = rebuilt;
+                }
+                pendingDuringRebuild = null;
+            }
+        }
+        return rebuilt.documents.size();
+    }
+
+    private Index load() {
+        Map<Long, IssueView> issues = new HashMap<>();
+        try (Stream<IssueView> stream = issueRepository.streamAllViews()) {
+            stream.forEach(issue -> issues.put(issue.id(), issue));
+        }
+        Map<Long, SortedMap<Long, IndexedComment>> comments = new HashMap<>();
+        try (Stream<CommentView> stream = commentRepository.streamAllViews()) {
+            stream.filter(comment -> issues.containsKey(comment.issueId()))
+                    .forEach(comment -> comments.computeIfAbsent(comment.issueId(), id -> new TreeMap<>())
+                            .put(comment.id(), new IndexedComment(comment.authorId(), comment.content())));
+        }
+        Index rebuilt = new Index();
+        issues.values().forEach(issue -> rebuilt.put(IssueDocument.of(issue.id(), issue.authorId(), issue.assigneeId(),
+                issue.title(), issue.description(), comments.getOrDefault(issue.id(), Collections.emptySortedMap()))));
+        return rebuilt;
+    }
+
+    public List<IssueSearchResultDto> search(String query, int limit, Authentication authentication) {
+        return searchTimer.record(() -> doSearch(query, Math.max(1, Math.min(limit, MAX_RESULTS)), authentication));
+    }
+
+    private List<IssueSearchResultDto> doSearch(String query, int limit, Authentication authentication) {
+        List<String> queryTerms = tokenize(query).distinct().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        Index current = index;
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        if (OwnershipIndex.isAdmin(authentication)) {
+            List<Term> terms = terms(current, current.postings, queryTerms);
+            if (terms != null) {
+                for (Long issueId : terms.get(0).postings().keySet()) {
+                    offer(top, limit, current.documents.get(issueId), terms, true);
+                }
+            }
+        } else {
+            // Comments count only on the issues the caller may read them on, which are the caller's assignments;
+            // every other issue is matched and weighed by its title and description, as indexed without comments
+            Set<Long> readable = readableIssues(current, ownershipIndex.accountId(authentication), authentication);
+            List<Term> textTerms = terms(current, current.textPostings, queryTerms);
+            if (textTerms != null) {
+                for (Long issueId : textTerms.get(0).postings().keySet()) {
+                    if (!readable.contains(issueId)) {
+                        offer(top, limit, current.documents.get(issueId), textTerms, false);
+                    }
+                }
+            }
+            List<Term> terms = readable.isEmpty() ? null : terms(current, current.postings, queryTerms);
+            if (terms != null) {
+                for (Long issueId : readable) {
+                    offer(top, limit, current.documents.get(issueId), terms, true);
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BY_SCORE.reversed());
+        return hits.stream()
+                .map(hit -> toResult(current.documents.get(hit.issueId()), hit, queryTerms))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Null when a term matches nothing. Every term must match, so walking the rarest term's postings
+    // bounds the work by its frequency, not the table size.
+    private static List<Term> terms(Index current, Map<String, Map<Long, Float>> postings, List<String> queryTerms) {
+        double documents = Math.max(1, current.documents.size());
+        List<Term> terms = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            Map<Long, Float> postingList = postings.get(term);
+            if (postingList == null) {
+                return null;
+            }
+            terms.add(new Term(term, postingList, Math.log(1 + documents / postingList.size())));
+        }
+        terms.sort(Comparator.comparingInt(term -> term.postings().size()));
+        return terms;
+    }
+
+    private static void offer(PriorityQueue<Hit> top, int limit, IssueDocument document, List<Term> terms, boolean withComments) {
+        if (document == null) {
+            return;
+        }
+        Map<String, Float> weights = withComments ? document.weights() : document.textWeights();
+        double score = 0;
+        for (Term term : terms) {
+            Float weight = weights.get(term.text());
+            if (weight == null) {
+                return;
+            }
+            score += weight * term.idf();
+        }
+        top.offer(new Hit(document.id(), score, withComments));
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    // The index's own assignee only narrows the candidates, the decision is the one the comment endpoints make
+    private Set<Long> readableIssues(Index current, Long accountId, Authentication authentication) {
+        if (accountId == null) {
+            return Set.of();
+        }
+        Set<Long> readable = new HashSet<>();
+        for (Long issueId : current.assigned.getOrDefault(accountId, Set.of())) {
+            if (ownershipIndex.isIssueAssignee(issueId, authentication)) {
+                readable.add(issueId);
+            }
+        }
+        return readable;
+    }
+
+    private static IssueSearchResultDto toResult(IssueDocument document, Hit hit, List<String> terms) {
+        if (document == null) {
+            return null;
+        }
+        return new IssueSearchResultDto(document.id(), document.title(), hit.score(), snippet(document, hit.withComments(), terms));
+    }
+
+    private static String snippet(IssueDocument document, boolean withComments, List<String> terms) {
+        List<String> texts = new ArrayList<>();
+        texts.add(document.description());
+        if (withComments) {
+            document.comments().values().forEach(comment -> texts.add(comment.content()));
+        }
+        texts.add(document.title());
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String normalized = WHITESPACE.matcher(text).replaceAll(" ").trim();
+            String lowerCase = normalized.toLowerCase(Locale.ROOT);
+            int match = terms.stream()
+                    .mapToInt(lowerCase::indexOf)
+                    .filter(position -> position >= 0)
+                    .min()
+                    .orElse(-1);
+            if (match >= 0) {
+                int start = Math.max(0, match - SNIPPET_RADIUS);
+                int end = Math.min(normalized.length(), match + SNIPPET_RADIUS);
+                return (start > 0 ? "..." : "") + normalized.substring(start, end) + (end < normalized.length() ? "..." : "");
+            }
+        }
+        return null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        long issueId = event.issueId();
+        if (event.type() == ChangeType.DELETED) {
+            apply(index -> index.remove(issueId));
+            return;
+        }
+        IssueResponseDto issue = event.issue();
+        Long authorId = issue.getAuthor() == null ? null : issue.getAuthor().getId();
+        Long assigneeId = issue.getAssignee() == null ? null : issue.getAssignee().getId();
+        apply(index -> index.putIssue(issueId, authorId, assigneeId, issue.getTitle(), issue.getDescription()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        long issueId = event.issueId();
+        long commentId = event.commentId();
+        if (event.type() == ChangeType.DELETED) {
+            apply(index -> index.removeComment(issueId, commentId));
+            return;
+        }
+        CommentResponseDto comment = event.comment();
+        Long authorId = comment.getAuthor() == null ? null : comment.getAuthor().getId();
+        apply(index -> index.putComment(issueId, commentId, new IndexedComment(authorId, comment.getContent())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountDeleted(AccountDeletedEvent event) {
+        Long accountId = event.accountId();
+        apply(index -> index.removeAuthor(accountId));
+    }
+
+    private void apply(Consumer<Index> change) {
+        synchronized (writeLock) {
+            change.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH && token.length() <= MAX_TOKEN_LENGTH);
+    }
+
+    private static Map<String, Float> weigh(String title, String description, Collection<IndexedComment> comments) {
+        Map<String, Float> weights = new HashMap<>();
+        tokenize(title).forEach(token -> weights.merge(token, TITLE_WEIGHT, Float::sum));
+        tokenize(description).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Float::sum));
+        comments.forEach(comment -> tokenize(comment.content()).forEach(token -> weights.merge(token, COMMENT_WEIGHT, Float::sum)));
+        // Dampened so a long comment thread repeating a word cannot outrank a title match
+        weights.replaceAll((token, weight) -> (float) Math.log1p(weight));
+        return weights;
+    }
+
+    private record Term(String text, Map<Long, Float> postings, double idf) {
+    }
+
+    private record Hit(long issueId, double score, boolean withComments) {
+    }
+
+    private record IndexedComment(Long authorId, String content) {
+    }
+
+    // weights include the comments, textWeights are what a caller without access to the comments is matched against
+    private record IssueDocument(long id, Long authorId, Long assigneeId, String title, String description,
+                                 SortedMap<Long, IndexedComment> comments, Map<String, Float> weights,
+                                 Map<String, Float> textWeights) {
+
+        static IssueDocument of(long id, Long authorId, Long assigneeId, String title, String description,
+                                SortedMap<Long, IndexedComment> comments) {
+            return of(id, authorId, assigneeId, title, description, comments, weigh(title, description, List.of()));
+        }
+
+        private static IssueDocument of(long id, Long authorId, Long assigneeId, String title, String description,
+                                        SortedMap<Long, IndexedComment> comments, Map<String, Float> textWeights) {
+            SortedMap<Long, IndexedComment> copy = Collections.unmodifiableSortedMap(new TreeMap<>(comments));
+            return new IssueDocument(id, authorId, assigneeId, title, description, copy,
+                    copy.isEmpty() ? textWeights : weigh(title, description, copy.values()), textWeights);
+        }
+
+        // Title and description are unchanged, so their weights are kept
+        IssueDocument withComments(SortedMap<Long, IndexedComment> comments) {
+            return of(id, authorId, assigneeId, title, description, comments, textWeights);
+        }
+
+        long textLength() {
+            long length = (title == null ? 0 : title.length()) + (description == null ? 0 : description.length());
+            for (IndexedComment comment : comments.values()) {
+                length += comment.content() == null ? 0 : comment.content().length();
+            }
+            return length;
+        }
+    }
+
+    // Readers never lock; all writes happen under writeLock or on an index that is not published yet
+    private static final class Index {
+        private final Map<Long, IssueDocument> documents = new ConcurrentHashMap<>();
+        private final Map<String, Map<Long, Float>> postings = new ConcurrentHashMap<>();
+        // Postings of titles and descriptions only, so matches found in comments cannot reach callers who may not read them
+        private final Map<String, Map<Long, Float>> textPostings = new ConcurrentHashMap<>();
+        // Issue ids by assignee: the only issues a non-admin caller may read comments on
+        private final Map<Long, Set<Long>> assigned = new ConcurrentHashMap<>();
+        private final AtomicLong postingCount = new AtomicLong();
+        private final AtomicLong textLength = new AtomicLong();
+
+        void putIssue(long issueId, Long authorId, Long assigneeId, String title, String description) {
+            IssueDocument previous = documents.get(issueId);
+            SortedMap<Long, IndexedComment> comments = previous == null ? Collections.emptySortedMap() : previous.comments();
+            put(IssueDocument.of(issueId, authorId, assigneeId, title, description, comments));
+        }
+
+        void putComment(long issueId, long commentId, IndexedComment comment) {
+            IssueDocument previous = documents.get(issueId);
+            if (previous == null) {
+                return;
+            }
+            SortedMap<Long, IndexedComment> comments = new TreeMap<>(previous.comments());
+            comments.put(commentId, comment);
+            put(previous.withComments(comments));
+        }
+
+        void removeComment(long issueId, long commentId) {
+            IssueDocument previous = documents.get(issueId);
+            if (previous == null || !previous.comments().containsKey(commentId)) {
+                return;
+            }
+            SortedMap<Long, IndexedComment> comments = new TreeMap<>(previous.comments());
+            comments.remove(commentId);
+            put(previous.withComments(comments));
+        }
+
+        void removeAuthor(Long accountId) {
+            for (IssueDocument document : List.copyOf(documents.values())) {
+                if (accountId.equals(document.authorId())) {
+                    remove(document.id());
+                } else if (document.comments().values().stream().anyMatch(comment -> accountId.equals(comment.authorId()))) {
+                    SortedMap<Long, IndexedComment> comments = new TreeMap<>(document.comments());
+                    comments.values().removeIf(comment -> accountId.equals(comment.authorId()));
+                    put(document.withComments(comments));
+                }
+            }
+        }
+
+        void put(IssueDocument document) {
+            long issueId = document.id();
+            IssueDocument previous = documents.put(issueId, document);
+            addPostings(postings, document.weights(), issueId);
+            if (previous == null || previous.textWeights() != document.textWeights()) {
+                addPostings(textPostings, document.textWeights(), issueId);
+            }
+            if (document.assigneeId() != null) {
+                assigned.computeIfAbsent(document.assigneeId(), key -> ConcurrentHashMap.newKeySet()).add(issueId);
+            }
+            textLength.addAndGet(document.textLength());
+            if (previous != null) {
+                removePostings(postings, previous.weights(), document.weights(), issueId);
+                if (previous.textWeights() != document.textWeights()) {
+                    removePostings(textPostings, previous.textWeights(), document.textWeights(), issueId);
+                }
+                if (previous.assigneeId() != null && !previous.assigneeId().equals(document.assigneeId())) {
+                    unassign(previous.assigneeId(), issueId);
+                }
+                textLength.addAndGet(-previous.textLength());
+            }
+        }
+
+        void remove(long issueId) {
+            IssueDocument previous = documents.remove(issueId);
+            if (previous == null) {
+                return;
+            }
+            removePostings(postings, previous.weights(), Map.of(), issueId);
+            removePostings(textPostings, previous.textWeights(), Map.of(), issueId);
+            if (previous.assigneeId() != null) {
+                unassign(previous.assigneeId(), issueId);
+            }
+            textLength.addAndGet(-previous.textLength());
+        }
+
+        private void addPostings(Map<String, Map<Long, Float>> postings, Map<String, Float> weights, long issueId) {
+            weights.forEach((term, weight) -> {
+                if (postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(issueId, weight) == null) {
+                    postingCount.incrementAndGet();
+                }
+            });
+        }
+
+        // Drops the terms the document no longer has
+        private void removePostings(Map<String, Map<Long, Float>> postings, Map<String, Float> previous,
+                                    Map<String, Float> current, long issueId) {
+            for (String term : previous.keySet()) {
+                if (current.containsKey(term)) {
+                    continue;
+                }
+                postings.computeIfPresent(term, (key, issues) -> {
+                    if (issues.remove(issueId) != null) {
+                        postingCount.decrementAndGet();
+                    }
+                    return issues.isEmpty() ? null : issues;
+                });
+            }
+        }
+
+        private void unassign(Long assigneeId, long issueId) {
+            assigned.computeIfPresent(assigneeId, (key, issues) -> {
+                issues.remove(issueId);
+                return issues.isEmpty() ? null : issues;
+            });
+        }
+
+        long estimatedBytes() {
+            return documents.size() * DOCUMENT_BYTES
+                    + postings.size() * TERM_BYTES
+                    + postingCount.get() * POSTING_BYTES
+                    + textLength.get() * Character.BYTES;
+        }
+    }
+}
@@ -1,41 +1,95 @@
 package by.tms.taskmanagerapi.service;
 
+import by.tms.taskmanagerapi.dto.CursorPageDto;
+import by.tms.taskmanagerapi.dto.VersionView;
+import by.tms.taskmanagerapi.dto.Versioned;
 import by.tms.taskmanagerapi.dto.comment.CommentCreateDto;
 import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.account.AccountView;
+import by.tms.taskmanagerapi.dto.issue.IssueBatchResultDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkChangesDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkUpdateDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkUpdateResultDto;
 import by.tms.taskmanagerapi.dto.issue.IssueCreateDto;
 import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueStateView;
+import by.tms.taskmanagerapi.dto.issue.IssueView;
 import by.tms.taskmanagerapi.entity.Account;
 import by.tms.taskmanagerapi.entity.Comment;
 import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.entity.Role;
+import by.tms.taskmanagerapi.event.ChangeType;
+import by.tms.taskmanagerapi.event.CommentChangedEvent;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.exceptions.BulkLimitExceededException;
+import by.tms.taskmanagerapi.exceptions.NotFoundException;
 import by.tms.taskmanagerapi.mapper.CommentMapper;
 import by.tms.taskmanagerapi.mapper.IssueMapper;
 import by.tms.taskmanagerapi.repository.AccountRepository;
 import by.tms.taskmanagerapi.repository.CommentRepository;
 import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.repository.IssueTombstoneRepository;
+import by.tms.taskmanagerapi.security.OwnershipIndex;
+import by.tms.taskmanagerapi.utils.ETags;
+import by.tms.taskmanagerapi.utils.IssueCursor;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Transactional
 @Service
 public class IssueService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final IssueRepository issueRepository;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final IssueMapper issueMapper;
     private final AccountRepository accountRepository;
+    private final IssueTombstoneRepository issueTombstoneRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OwnershipIndex ownershipIndex;
+    private final int batchFlushSize;
+    private final int bulkMaxSize;
 
     @Autowired
     public IssueService(IssueRepository issueRepository,
                         CommentRepository commentRepository,
                         CommentMapper commentMapper,
                         IssueMapper issueMapper,
-                        AccountRepository accountRepository
+                        AccountRepository accountRepository,
+                        IssueTombstoneRepository issueTombstoneRepository,
+                        EntityManager entityManager,
+                        Validator validator,
+                        ApplicationEventPublisher eventPublisher,
+                        OwnershipIndex ownershipIndex,
+                        @Value("${issues.batch.flush-size:500}") int batchFlushSize,
+                        @Value("${issues.bulk.max-size:1000}") int bulkMaxSize
                         ) {
 
         this.issueRepository = issueRepository;
@@ -43,6 +97,13 @@ public class IssueService {
         this.commentMapper = commentMapper;
         this.issueMapper = issueMapper;
         this.accountRepository = accountRepository;
+        this.issueTombstoneRepository = issueTombstoneRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.ownershipIndex = ownershipIndex;
+        this.batchFlushSize = batchFlushSize;
+        this.bulkMaxSize = bulkMaxSize;
     }
 
     public IssueResponseDto createIssue(IssueCreateDto issueCreateDto, Authentication authentication) {
@@ -50,81 +111,351 @@ public class IssueService {
         Account author = accountRepository.findByEmail(authentication.getName()).orElseThrow(()->new EntityNotFoundException("Account not found"));
         issue.setAuthor(author);
         issue = issueRepository.save(issue);
-        return issueMapper.toIssueResponseDto(issue);
+        IssueResponseDto issueResponseDto = issueMapper.toIssueResponseDto(issue);
+        eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.CREATED, issueResponseDto.getId(), issueResponseDto));
+        return issueResponseDto;
+    }
+
+    public List<IssueBatchResultDto> createIssues(List<IssueCreateDto> issueCreateDtos, Authentication authentication) {
+        Account author = accountRepository.findByEmail(authentication.getName()).orElseThrow(()->new EntityNotFoundException("Account not found"));
+        Set<Long> assigneeIds = issueCreateDtos.stream()
+                .map(IssueCreateDto::getIdAssignee)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Account> assignees = accountRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        List<IssueBatchResultDto> results = new ArrayList<>(issueCreateDtos.size());
+        List<Issue> pending = new ArrayList<>(batchFlushSize);
+        List<Integer> pendingIndexes = new ArrayList<>(batchFlushSize);
+        for (int index = 0; index < issueCreateDtos.size(); index++) {
+            IssueCreateDto issueCreateDto = issueCreateDtos.get(index);
+            Set<ConstraintViolation<IssueCreateDto>> violations = validator.validate(issueCreateDto);
+            if (!violations.isEmpty()) {
+                results.add(IssueBatchResultDto.rejected(index, violations.iterator().next().getMessage()));
+                continue;
+            }
+            Long assigneeId = issueCreateDto.getIdAssignee();
+            if (assigneeId != null && !assignees.containsKey(assigneeId)) {
+                results.add(IssueBatchResultDto.rejected(index, "Assigned user not exist"));
+                continue;
+            }
+            Issue issue = issueMapper.toIssue(issueCreateDto);
+            issue.setAuthor(author);
+            issue.setAssignee(assignees.get(assigneeId));
+            pending.add(issue);
+            pendingIndexes.add(index);
+            if (pending.size() == batchFlushSize) {
+                saveBatch(pending, pendingIndexes, results);
+            }
+        }
+        saveBatch(pending, pendingIndexes, results);
+        results.sort((left, right) -> Integer.compare(left.getIndex(), right.getIndex()));
+        return results;
     }
 
+    // Flushing and clearing per chunk keeps the persistence context small while inserts go out as JDBC batches
+    private void saveBatch(List<Issue> issues, List<Integer> indexes, List<IssueBatchResultDto> results) {
+        if (issues.isEmpty()) {
+            return;
+        }
+        issueRepository.saveAll(issues);
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < issues.size(); i++) {
+            Issue issue = issues.get(i);
+            results.add(IssueBatchResultDto.created(indexes.get(i), issue.getId()));
+            eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.CREATED, issue.getId(), issueMapper.toIssueResponseDto(issue)));
+        }
+        issues.clear();
+        indexes.clear();
+    }
+
+    // Answered from the ownership index; SUPPORTS keeps a cache hit from opening a transaction
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isUserAssignedToIssue(Long issueId, Authentication authentication) {
-        return issueRepository.existsByIdAndAssignee_Email(issueId, authentication.getName());
+        return ownershipIndex.isIssueAssignee(issueId, authentication);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isAuthorIssue(Long issueId, Authentication authentication) {
-        return issueRepository.existsByIdAndAuthor_Email(issueId, authentication.getName());
+        return ownershipIndex.isIssueAuthor(issueId, authentication);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isAuthorComment(Long commentId, Authentication authentication) {
-        return commentRepository.existsByIdAndAuthor_Email(commentId, authentication.getName());
+        return ownershipIndex.isCommentAuthor(commentId, authentication);
     }
 
+    @Transactional(readOnly = true)
     public IssueResponseDto getIssueById(Long issueId) {
  Issue issue = issueRepository.findById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
         return issueMapper.toIssueResponseDto(issue);
     }
 
+    // The ETag is built from the row the body comes from, so a concurrent update can't pair a new body with an old tag
+    @Transactional(readOnly = true)
+    public Versioned<IssueResponseDto> getVersionedIssueById(Long issueId) {
+        Issue issue = issueRepository.findById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
+        return new Versioned<>(issueMapper.toIssueResponseDto(issue), issueETag(issue));
+    }
+
+    // Version-only lookups: enough to answer If-None-Match without loading or serializing the body
+    @Transactional(readOnly = true)
+    public String getIssueETag(Long issueId) {
+        return ETags.of(issueRepository.findVersionById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found")));
+    }
+
+    @Transactional(readOnly = true)
+    public String getIssuePageETag(Pageable pageable) {
+        return ETags.of(issueRepository.findAllVersions(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public String getIssuePageByAuthorIdETag(Long authorId, Pageable pageable) {
+        return ETags.of(issueRepository.findVersionsByAuthorId(authorId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public String getIssuePageByAssignedIdETag(Long assigneeId, Pageable pageable) {
+        return ETags.of(issueRepository.findVersionsByAssigneeId(assigneeId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public String getCommentsPageETag(Long issueId, Pageable pageable) {
+        return ETags.of(commentRepository.findVersionsByIssueId(issueId, pageable));
+    }
+
+    @Transactional(readOnly = true)
     public Page<IssueResponseDto> getIssuePage(Pageable pageable) {
-        return issueRepository.findAll(pageable).map(issueMapper::toIssueResponseDto);
+        return issueRepository.findAllViews(pageable).map(issueMapper::toIssueResponseDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<IssueResponseDto> getIssuePageByAuthorId(Long authorId, Pageable pageable) {
-        return issueRepository.findByAuthor_Id(authorId, pageable).map(issueMapper::toIssueResponseDto);
+        return issueRepository.findViewsByAuthorId(authorId, pageable).map(issueMapper::toIssueResponseDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<IssueResponseDto> getIssuePageByAssignedId(Long assigneeId, Pageable pageable) {
-        return issueRepository.findByAssignee_Id(assigneeId, pageable).map(issueMapper::toIssueResponseDto);
+        return issueRepository.findViewsByAssigneeId(assigneeId, pageable).map(issueMapper::toIssueResponseDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<IssueResponseDto> getIssueCursorPage(String after, int size) {
+        IssueCursor cursor = IssueCursor.decode(after);
+        Limit limit = cursorLimit(size);
+        List<IssueView> issues = cursor == null
+                ? issueRepository.findFirstViews(limit)
+                : issueRepository.findViewsAfter(cursor.createdAt(), cursor.id(), limit);
+        return toCursorPage(issues, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<IssueResponseDto> getIssueCursorPageByAuthorId(Long authorId, String after, int size) {
+        IssueCursor cursor = IssueCursor.decode(after);
+        Limit limit = cursorLimit(size);
+        List<IssueView> issues = cursor == null
+                ? issueRepository.findFirstViewsByAuthorId(authorId, limit)
+                : issueRepository.findViewsByAuthorIdAfter(authorId, cursor.createdAt(), cursor.id(), limit);
+        return toCursorPage(issues, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<IssueResponseDto> getIssueCursorPageByAssignedId(Long assigneeId, String after, int size) {
+        IssueCursor cursor = IssueCursor.decode(after);
+        Limit limit = cursorLimit(size);
+        List<IssueView> issues = cursor == null
+                ? issueRepository.findFirstViewsByAssigneeId(assigneeId, limit)
+                : issueRepository.findViewsByAssigneeIdAfter(assigneeId, cursor.createdAt(), cursor.id(), limit);
+        return toCursorPage(issues, limit);
+    }
+
+    // One extra row is requested so the presence of a next slice is known without a COUNT query
+    private Limit cursorLimit(int size) {
+        return Limit.of(Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)) + 1);
+    }
+
+    private CursorPageDto<IssueResponseDto> toCursorPage(List<IssueView> issues, Limit limit) {
+        int size = limit.max() - 1;
+        String nextCursor = null;
+        if (issues.size() > size) {
+            issues = issues.subList(0, size);
+            nextCursor = IssueCursor.of(issues.get(size - 1)).encode();
+        }
+        return new CursorPageDto<>(issues.stream().map(issueMapper::toIssueResponseDto).toList(), nextCursor);
     }
 
     public IssueResponseDto updateIssue(Long issueId, IssueCreateDto issueCreateDto) {
+        return updateIssue(issueId, issueCreateDto, null).body();
+    }
+
+    // Loaded with author and assignee in one statement; the write is the only other one.
+    // Ownership was already checked by @PreAuthorize against the ownership index.
+    // If-Match is compared against the loaded versions and @Version guards the write itself.
+    public Versioned<IssueResponseDto> updateIssue(Long issueId, IssueCreateDto issueCreateDto, String ifMatch) {
         Issue issue = issueRepository.findById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
-        issue = issueMapper.updateIssue(issueCreateDto, issue, accountRepository);
-        return issueMapper.toIssueResponseDto(issue);
+        ETags.checkIfMatch(ifMatch, issueETag(issue));
+        IssueStateView previous = IssueStateView.of(issue);
+        issue = issueMapper.updateIssue(issueCreateDto, issue);
+        issue.setAssignee(assigneeReference(issueCreateDto.getIdAssignee()));
+        return saveUpdatedIssue(issue, previous);
     }
 
+    // Loaded once: deleteById would look the issue up again, and listeners need its last state
     public void deleteIssueById(Long issueId) {
-        if (!issueRepository.existsById(issueId)) throw new EntityNotFoundException("Issue not found");
-        issueRepository.deleteById(issueId);
+        Issue issue = issueRepository.findById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
+        IssueStateView previous = IssueStateView.of(issue);
+        issueRepository.delete(issue);
+        issueTombstoneRepository.recordDeleted(issueId, LocalDateTime.now());
+        eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.DELETED, issueId, null, previous));
     }
 
     public IssueResponseDto patchIssue(Long issueId, @Valid IssueCreateDto issueCreateDto) {
+        return patchIssue(issueId, issueCreateDto, null).body();
+    }
+
+    public Versioned<IssueResponseDto> patchIssue(Long issueId, @Valid IssueCreateDto issueCreateDto, String ifMatch) {
         Issue issue = issueRepository.findById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
-        issue = issueMapper.patchIssue(issueCreateDto, issue, accountRepository);
-        return issueMapper.toIssueResponseDto(issue);
+        ETags.checkIfMatch(ifMatch, issueETag(issue));
+        IssueStateView previous = IssueStateView.of(issue);
+        issue = issueMapper.patchIssue(issueCreateDto, issue);
+        if (issueCreateDto.getIdAssignee() != null) {
+            issue.setAssignee(assigneeReference(issueCreateDto.getIdAssignee()));
+        }
+        return saveUpdatedIssue(issue, previous);
+    }
+
+    // One locking select for the previous state, one account lookup for the response emails, one set-based UPDATE.
+    // Admins update every matching issue, other accounts only the issues they authored.
+    public IssueBulkUpdateResultDto bulkUpdateIssues(IssueBulkUpdateDto issueBulkUpdateDto, Authentication authentication) {
+        Account caller = accountRepository.findByEmail(authentication.getName()).orElseThrow(()->new EntityNotFoundException("Account not found"));
+        Long authorScope = caller.getRole() == Role.ADMIN ? null : caller.getId();
+        List<IssueView> previous = issueRepository.lockForBulkUpdate(issueBulkUpdateDto.getIds(),
+                issueBulkUpdateDto.getFilter(), authorScope, bulkMaxSize + 1);
+        if (previous.size() > bulkMaxSize) {
+            throw new BulkLimitExceededException("More than " + bulkMaxSize + " issues match, narrow the selection");
+        }
+        IssueBulkChangesDto changes = issueBulkUpdateDto.getChanges();
+        Set<Long> accountIds = new HashSet<>();
+        if (changes.getIdAssignee() != null) {
+            accountIds.add(changes.getIdAssignee());
+        }
+        for (IssueView issue : previous) {
+            accountIds.add(issue.authorId());
+            if (issue.assigneeId() != null) {
+                accountIds.add(issue.assigneeId());
+            }
+        }
+        Map<Long, String> emails = accountIds.isEmpty() ? Map.of() : accountRepository.findViewsByIdIn(accountIds).stream()
+                .collect(Collectors.toMap(AccountView::id, AccountView::email));
+        if (changes.getIdAssignee() != null && !emails.containsKey(changes.getIdAssignee())) {
+            throw new NotFoundException("Assigned user not exist");
+        }
+        if (previous.isEmpty()) {
+            return new IssueBulkUpdateResultDto(List.of());
+        }
+
+        List<Long> ids = previous.stream().map(IssueView::id).toList();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        issueRepository.bulkUpdate(ids, changes, updatedAt);
+        for (IssueView issue : previous) {
+            Long assigneeId = changes.getIdAssignee() != null ? changes.getIdAssignee() : issue.assigneeId();
+            IssueView updated = new IssueView(issue.id(), issue.title(), issue.description(),
+                    issue.authorId(), emails.get(issue.authorId()), assigneeId, emails.get(assigneeId),
+                    changes.getCurrentStatus() != null ? changes.getCurrentStatus() : issue.currentStatus(),
+                    changes.getPriority() != null ? changes.getPriority() : issue.priority(),
+                    issue.createdAt(), updatedAt, issue.commentCount(), issue.lastActivityAt());
+            eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.UPDATED, issue.id(),
+                    issueMapper.toIssueResponseDto(updated), IssueStateView.of(issue)));
+        }
+        return new IssueBulkUpdateResultDto(ids);
+    }
+
+    // The flush would happen at commit anyway; doing it here makes the new version and updatedAt
+    // available to the response
+    private Versioned<IssueResponseDto> saveUpdatedIssue(Issue issue, IssueStateView previous) {
+        checkAssigneeExists(issue);
+        issue = issueRepository.saveAndFlush(issue);
+        IssueResponseDto issueResponseDto = issueMapper.toIssueResponseDto(issue);
+        eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.UPDATED, issue.getId(), issueResponseDto, previous));
+        return new Versioned<>(issueResponseDto, issueETag(issue));
+    }
+
+    private String issueETag(Issue issue) {
+        Account assignee = issue.getAssignee();
+        return ETags.of(new VersionView(issue.getId(), issue.getVersion(), issue.getAuthor().getVersion(),
+                assignee == null ? null : assignee.getVersion()));
+    }
+
+    // A reference instead of a load; checkAssigneeExists initializes it before the flush,
+    // which reads the account row when the second-level cache misses
+    private Account assigneeReference(Long assigneeId) {
+        return assigneeId == null ? null : accountRepository.getReferenceById(assigneeId);
+    }
+
+    private void checkAssigneeExists(Issue issue) {
+        try {
+            Hibernate.initialize(issue.getAssignee());
+        } catch (EntityNotFoundException e) {
+            throw new NotFoundException("Assigned user not exist");
+        }
     }
 
     public CommentResponseDto addComment(Long issueId, CommentCreateDto commentCreateDto, Authentication authentication) {
         Account author = accountRepository.findByEmail(authentication.getName()).orElseThrow(()->new EntityNotFoundException("Account not found"));
-        Issue issue = issueRepository.findById(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
+        Issue issue = issueRepository.findByIdForUpdate(issueId).orElseThrow(()->new EntityNotFoundException("Issue not found"));
         Comment comment = new Comment();
         comment.setContent(commentCreateDto.getContent());
         comment.setAuthor(author);
         comment.setIssue(issue);
         comment = commentRepository.save(comment);
-        return commentMapper.toCommentResponseDto(comment);
+        issue.setCommentCount(issue.getCommentCount() + 1);
+        issue.setLastActivityAt(comment.getUpdatedAt());
+        publishCommentActivity(issue);
+        CommentResponseDto commentResponseDto = commentMapper.toCommentResponseDto(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(ChangeType.CREATED, issueId, comment.getId(), commentResponseDto));
+        return commentResponseDto;
     }
 
+    @Transactional(readOnly = true)
     public Page<CommentResponseDto> getCommentsPage(Long issueId, Pageable pageable) {
         return commentRepository.findByIssue_Id(issueId, pageable).map(commentMapper::toCommentResponseDto);
     }
 
     public CommentResponseDto patchComment(Long issueId, Long commentId, CommentCreateDto commentCreateDto) {
+        Issue issue = issueRepository.findByIdForUpdate(issueId).orElseThrow(()->new EntityNotFoundException("Comment not found"));
         Comment comment = commentRepository.findByIdAndIssue_Id(commentId, issueId).orElseThrow(()->new EntityNotFoundException("Comment not found"));
         comment.setContent(commentCreateDto.getContent());
-        comment = commentRepository.save(comment);
-        return commentMapper.toCommentResponseDto(comment);
+        // Flushed so the audited modification time is known before it becomes the issue's last activity
+        comment = commentRepository.saveAndFlush(comment);
+        issue.setLastActivityAt(comment.getUpdatedAt());
+        publishCommentActivity(issue);
+        CommentResponseDto commentResponseDto = commentMapper.toCommentResponseDto(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(ChangeType.UPDATED, issueId, commentId, commentResponseDto));
+        return commentResponseDto;
     }
 
     public void deleteComment( Long commentId,Long issueId) {
-       if(!commentRepository.existsByIdAndIssue_Id(commentId, issueId)){
-           throw new EntityNotFoundException("Comment not found");
-       }
-        commentRepository.deleteByIdAndIssue_Id(commentId, issueId);
+        Issue issue = issueRepository.findByIdForUpdate(issueId).orElseThrow(()->new EntityNotFoundException("Comment not found"));
+        if (commentRepository.deleteByIdAndIssue_Id(commentId, issueId) == 0) {
+            throw new EntityNotFoundException("Comment not found");
+        }
+        // Never negative, even for comments written behind the service's back before a repair
+        issue.setCommentCount(Math.max(0, issue.getCommentCount() - 1));
+        issue.setLastActivityAt(commentRepository.findLastActivityByIssueId(issueId).orElse(null));
+        publishCommentActivity(issue);
+        eventPublisher.publishEvent(new CommentChangedEvent(ChangeType.DELETED, issueId, commentId, null));
+    }
+
+    // The comment count and last activity belong to the issue's representation, so the issue gets a new version
+    // and ETag, and its listeners hear about it like any other update. The flush writes the new version and
+    // updatedAt onto the locked entity, which already holds its accounts, so it is mapped as is.
+    // Published ahead of the comment event, so the ownership cache is current when the stream checks who may see it.
+    private void publishCommentActivity(Issue issue) {
+        IssueStateView previous = IssueStateView.of(issue);
+        issueRepository.flush();
+        eventPublisher.publishEvent(new IssueChangedEvent(ChangeType.UPDATED, issue.getId(),
+                issueMapper.toIssueResponseDto(issue), previous));
     }
 }
\ No newline at end of file
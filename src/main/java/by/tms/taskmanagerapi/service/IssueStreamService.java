@@ -0,0 +1,367 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueOwnersView;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueStreamEventDto;
+import by.tms.taskmanagerapi.event.CommentChangedEvent;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.exceptions.ServiceUnavailableException;
+import by.tms.taskmanagerapi.security.OwnershipIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Pushes committed issue and comment changes to SSE subscribers.
+// Emitters are async requests, so an idle subscriber holds a connection but no servlet thread.
+// The committing thread only hands the change to a single publisher thread, which looks up owners, appends to
+// the replay log and fills per-subscriber buffers in commit order; sends happen on a dispatch pool.
+// Comment events reach ADMIN and the issue's assignee only, the readers of GET /issues/{id}/comments.
+@Service
+public class IssueStreamService {
+    private static final String HEARTBEAT = "heartbeat";
+    private static final String RESET = "reset";
+
+    // Event ids are "<stream>-<sequence>"; a Last-Event-ID from an earlier process can't be resumed
+    private final String streamId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Object lock = new Object();
+    private final Deque<StreamEvent> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final OwnershipIndex ownershipIndex;
+    private final ExecutorService publisher;
+    private final ExecutorService dispatcher;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final int replaySize;
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+    private final Counter coalesced;
+    private final Counter resets;
+    private final Counter evictions;
+    private long sequence;
+
+    public IssueStreamService(OwnershipIndex ownershipIndex,
+                              @Value("${issues.stream.max-subscribers:10000}") int maxSubscribers,
+                              @Value("${issues.stream.buffer-size:256}") int bufferSize,
+                              @Value("${issues.stream.replay-size:1000}") int replaySize,
+                              @Value("${issues.stream.timeout:30m}") Duration timeout,
+                              @Value("${issues.stream.send-timeout:10s}") Duration sendTimeout,
+                              @Value("${issues.stream.dispatch-threads:64}") int dispatchThreads,
+                              MeterRegistry meterRegistry) {
+        this.ownershipIndex = ownershipIndex;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        // Each subscriber has at most one drain task queued, so the queue is bounded by the subscriber count.
+        // A send to a client that stopped reading blocks its thread, so threads are started on demand up to
+        // the limit and idle ones exit: a few stalled clients don't hold back everybody else's events.
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("issue-stream-"));
+        pool.allowCoreThreadTimeOut(true);
+        this.dispatcher = ExecutorServiceMetrics.monitor(meterRegistry, pool, "issues.stream.dispatch");
+        this.publisher = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("issue-stream-publisher-")),
+                "issues.stream.publish");
+        this.coalesced = Counter.builder("issues.stream.coalesced")
+                .description("Buffered events replaced by a newer event for the same issue or comment")
+                .register(meterRegistry);
+        this.resets = Counter.builder("issues.stream.resets")
+                .description("Subscribers told to resynchronize after their buffer overflowed or resume failed")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("issues.stream.evictions")
+                .description("Subscribers dropped because a send did not finish within the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("issues.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long authorId, Long assigneeId, String lastEventId, Authentication authentication) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many stream subscribers, try again later");
+        }
+        boolean admin = OwnershipIndex.isAdmin(authentication);
+        Long accountId = admin ? null : ownershipIndex.accountId(authentication);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, authorId, assigneeId, accountId, admin);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Registering and replaying under the publish lock leaves no gap between the two;
+        // events appended up to here come from the replay log only, later ones from the fan-out
+        synchronized (lock) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                resume(subscriber, lastEventId);
+            }
+            subscriber.since = sequence;
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void resume(Subscriber subscriber, String lastEventId) {
+        Long resumeFrom = sequenceOf(lastEventId);
+        long oldest = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence();
+        if (resumeFrom == null || resumeFrom > sequence || resumeFrom < oldest - 1) {
+            resets.increment();
+            subscriber.offer(StreamEvent.reset(sequence));
+            return;
+        }
+        for (StreamEvent event : replay) {
+            if (event.sequence() > resumeFrom && subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        publisher.execute(() -> {
+            IssueResponseDto issue = event.issue();
+            // A deleted issue's owners are gone, so its deletion goes to every subscriber
+            Long authorId = issue == null ? null : accountId(issue.getAuthor());
+            Long assigneeId = issue == null ? null : accountId(issue.getAssignee());
+            publish("issue", "issue:" + event.issueId(), authorId, assigneeId, issue == null, false,
+                    new IssueStreamEventDto(event.type(), event.issueId(), null, issue, null));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        publisher.execute(() -> {
+            // One cached lookup per event; the assignee decides which subscribers may see it.
+            // Without owners (the issue is gone) only ADMIN subscribers get it.
+            IssueOwnersView owners = ownershipIndex.issueOwners(event.issueId());
+            publish("comment", "comment:" + event.commentId(),
+                    owners == null ? null : owners.authorId(), owners == null ? null : owners.assigneeId(), owners == null, true,
+                    new IssueStreamEventDto(event.type(), event.issueId(), event.commentId(), null, event.comment()));
+        });
+    }
+
+    // Runs on the publisher thread only, so events are fanned out in sequence order.
+    // The lock covers the replay log; subscribe() holds it only for its own registration and replay.
+    private void publish(String name, String key, Long authorId, Long assigneeId, boolean broadcast, boolean restricted,
+                         IssueStreamEventDto data) {
+        StreamEvent event;
+        synchronized (lock) {
+            event = new StreamEvent(++sequence, name, key, authorId, assigneeId, broadcast, restricted, data);
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (event.sequence() > subscriber.since && subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle connections, finds clients that went away and drops those that stopped reading
+    @Scheduled(fixedRateString = "${issues.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now)) {
+                evict(subscriber);
+            } else {
+                subscriber.offerHeartbeat();
+            }
+        }
+    }
+
+    // The emitter is left to the blocked drain: completing it here would wait for the same send
+    private void evict(Subscriber subscriber) {
+        unsubscribe(subscriber);
+        subscriber.evict();
+        evictions.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        publisher.shutdown();
+        dispatcher.shutdown();
+    }
+
+    private Long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long accountId(AccountResponseDto account) {
+        return account == null ? null : account.getId();
+    }
+
+    // Restricted events carry comment content and reach ADMIN and the issue's assignee only
+    private record StreamEvent(long sequence, String name, String key, Long authorId, Long assigneeId,
+                               boolean broadcast, boolean restricted, Object data) {
+
+        static StreamEvent reset(long sequence) {
+            return new StreamEvent(sequence, RESET, RESET, null, null, true, false, "resync");
+        }
+
+        static StreamEvent heartbeat() {
+            return new StreamEvent(-1, HEARTBEAT, HEARTBEAT, null, null, true, false, null);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long authorId;
+        private final Long assigneeId;
+        private final Long accountId;
+        private final boolean admin;
+        // Keyed by issue or comment, so a newer change replaces one the client has not received yet
+        private final LinkedHashMap<String, StreamEvent> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Last sequence covered by registration and replay, set under the publish lock before the subscriber is added
+        private long since;
+        // System.nanoTime() when the running send started, 0 between sends
+        private volatile long sendStartedAt;
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, Long authorId, Long assigneeId, Long accountId, boolean admin) {
+            this.emitter = emitter;
+            this.authorId = authorId;
+            this.assigneeId = assigneeId;
+            this.accountId = accountId;
+            this.admin = admin;
+        }
+
+        private boolean matches(StreamEvent event) {
+            if (event.restricted() && !admin && (accountId == null || !accountId.equals(event.assigneeId()))) {
+                return false;
+            }
+            return event.broadcast()
+                    || ((authorId == null || authorId.equals(event.authorId()))
+                    && (assigneeId == null || assigneeId.equals(event.assigneeId())));
+        }
+
+        private void offer(StreamEvent event) {
+            synchronized (this) {
+                // Removed rather than replaced in place, so ids keep increasing on the wire
+                if (pending.remove(event.key()) != null) {
+                    coalesced.increment();
+                }
+                if (pending.size() >= bufferSize) {
+                    // Too slow to keep up: drop what is buffered and have the client resync from the delta feed
+                    pending.clear();
+                    resets.increment();
+                    pending.put(RESET, StreamEvent.reset(event.sequence()));
+                } else {
+                    pending.put(event.key(), event);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void offerHeartbeat() {
+            synchronized (this) {
+                if (!pending.isEmpty()) {
+                    return;
+                }
+                pending.put(HEARTBEAT, StreamEvent.heartbeat());
+            }
+            scheduleDrain();
+        }
+
+        private boolean isStalled(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > sendTimeoutNanos;
+        }
+
+        private void evict() {
+            synchronized (this) {
+                evicted = true;
+                pending.clear();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    if (evicted) {
+                        // draining stays set, so nothing is scheduled for an evicted subscriber again
+                        emitter.complete();
+                        return;
+                    }
+                    StreamEvent event;
+                    synchronized (this) {
+                        Iterator<StreamEvent> iterator = pending.values().iterator();
+                        if (!iterator.hasNext()) {
+                            draining.set(false);
+                            return;
+                        }
+                        event = iterator.next();
+                        iterator.remove();
+                    }
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(toSse(event));
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toSse(StreamEvent event) {
+            if (Objects.equals(event.name(), HEARTBEAT)) {
+                return SseEmitter.event().comment(HEARTBEAT);
+            }
+            return SseEmitter.event()
+                    .id(streamId + "-" + event.sequence())
+                    .name(event.name())
+                    .data(event.data(), event.data() instanceof String ? MediaType.TEXT_PLAIN : MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueCountDto;
+import by.tms.taskmanagerapi.dto.issue.IssueCountView;
+import by.tms.taskmanagerapi.dto.issue.IssueStateView;
+import by.tms.taskmanagerapi.dto.issue.IssueSummaryDto;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Issue counts per status x priority, globally and per assignee, kept in memory.
+// Seeded with one GROUP BY, then moved by committed change events, which carry the state before
+// an update or delete. A scheduled reconciliation replaces the counters with a fresh GROUP BY;
+// changes committing while it runs may be off until the next one, which the drift counter shows.
+@Service
+public class IssueSummaryService {
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    // Slot 0 of each dimension counts issues without a status or priority
+    private static final int CELLS = (STATUSES.length + 1) * (PRIORITIES.length + 1);
+
+    private final IssueRepository issueRepository;
+    private final Timer reconcileTimer;
+    private final Counter drift;
+    private volatile Counters counters = new Counters();
+    private volatile boolean seeded;
+
+    public IssueSummaryService(IssueRepository issueRepository, MeterRegistry meterRegistry) {
+        this.issueRepository = issueRepository;
+        this.reconcileTimer = Timer.builder("issues.summary.reconcile.duration").register(meterRegistry);
+        this.drift = Counter.builder("issues.summary.drift")
+                .description("Counts corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    public IssueSummaryDto getSummary(Long assigneeId) {
+        LongAdder[] cells = assigneeId == null ? counters.global : counters.byAssignee.get(assigneeId);
+        List<IssueCountDto> counts = new ArrayList<>();
+        long total = 0;
+        if (cells != null) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                long count = cells[cell].sum();
+                if (count != 0) {
+                    counts.add(new IssueCountDto(status(cell), priority(cell), count));
+                    total += count;
+                }
+            }
+        }
+        return new IssueSummaryDto(assigneeId, total, counts);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        Counters current = counters;
+        if (event.previous() != null) {
+            current.add(event.previous(), -1);
+        }
+        if (event.issue() != null) {
+            current.add(IssueStateView.of(event.issue()), 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${issues.summary.reconcile-interval:10m}",
+            fixedDelayString = "${issues.summary.reconcile-interval:10m}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        reconcileTimer.record(() -> {
+            Counters fresh = new Counters();
+            for (IssueCountView view : issueRepository.countByStatusPriorityAndAssignee()) {
+                fresh.add(new IssueStateView(view.currentStatus(), view.priority(), view.assigneeId()), view.count());
+            }
+            if (seeded) {
+                drift.increment(fresh.distance(counters));
+            }
+            counters = fresh;
+            seeded = true;
+        });
+    }
+
+    private static int cell(Status status, Priority priority) {
+        int statusSlot = status == null ? 0 : status.ordinal() + 1;
+        int prioritySlot = priority == null ? 0 : priority.ordinal() + 1;
+        return statusSlot * (PRIORITIES.length + 1) + prioritySlot;
+    }
+
+    private static Status status(int cell) {
+        int slot = cell / (PRIORITIES.length + 1);
+        return slot == 0 ? null : STATUSES[slot - 1];
+    }
+
+    private static Priority priority(int cell) {
+        int slot = cell % (PRIORITIES.length + 1);
+        return slot == 0 ? null : PRIORITIES[slot - 1];
+    }
+
+    private static LongAdder[] newCells() {
+        LongAdder[] cells = new LongAdder[CELLS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            cells[cell] = new LongAdder();
+        }
+        return cells;
+    }
+
+    private static final class Counters {
+        private final LongAdder[] global = newCells();
+        private final Map<Long, LongAdder[]> byAssignee = new ConcurrentHashMap<>();
+
+        private void add(IssueStateView state, long delta) {
+            int cell = cell(state.currentStatus(), state.priority());
+            global[cell].add(delta);
+            if (state.assigneeId() != null) {
+                byAssignee.computeIfAbsent(state.assigneeId(), id -> newCells())[cell].add(delta);
+            }
+        }
+
+        private long distance(Counters other) {
+            long distance = distance(global, other.global);
+            for (Map.Entry<Long, LongAdder[]> entry : byAssignee.entrySet()) {
+                distance += distance(entry.getValue(), other.byAssignee.get(entry.getKey()));
+            }
+            for (Map.Entry<Long, LongAdder[]> entry : other.byAssignee.entrySet()) {
+                if (!byAssignee.containsKey(entry.getKey())) {
+                    distance += distance(null, entry.getValue());
+                }
+            }
+            return distance;
+        }
+
+        private static long distance(LongAdder[] left, LongAdder[] right) {
+            long distance = 0;
+            for (int cell = 0; cell < CELLS; cell++) {
+                long leftCount = left == null ? 0 : left[cell].sum();
+                long rightCount = right == null ? 0 : right[cell].sum();
+                distance += Math.abs(leftCount - rightCount);
+            }
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package by.tms.taskmanagerapi.utils;
+
+import by.tms.taskmanagerapi.dto.issue.IssueView;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position inside a board column ordered by (priority rank, createdAt desc, id desc)
+public record BoardCursor(int priorityRank, LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    // Must match the priority_rank column (V8__issue_board_order.sql)
+    public static int priorityRank(Priority priority) {
+        if (priority == null) {
+            return 3;
+        }
+        return switch (priority) {
+            case HIGH -> 0;
+            case MEDIUM -> 1;
+            case LOW -> 2;
+            case NO_PRIORITY -> 3;
+        };
+    }
+
+    public static BoardCursor of(IssueView issue) {
+        return new BoardCursor(priorityRank(issue.priority()), issue.createdAt(), issue.id());
+    }
+
+    public String encode() {
+        String raw = priorityRank + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BoardCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new BoardCursor(Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
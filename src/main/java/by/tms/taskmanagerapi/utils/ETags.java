@@ -0,0 +1,51 @@
+package by.tms.taskmanagerapi.utils;
+
+import by.tms.taskmanagerapi.dto.VersionView;
+import by.tms.taskmanagerapi.exceptions.PreconditionFailedException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ETag;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+// Strong ETags derived from @Version columns, so they can be computed without loading or serializing a body
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(VersionView view) {
+        return digest(key(new StringBuilder(), view));
+    }
+
+    // Covers the page slice and the total, which is part of the page body
+    public static String of(Page<VersionView> page) {
+        StringBuilder key = new StringBuilder().append(page.getTotalElements());
+        for (VersionView view : page.getContent()) {
+            key(key.append(','), view);
+        }
+        return digest(key);
+    }
+
+    public static void checkIfMatch(String ifMatch, String eTag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        ETag current = ETag.create(eTag);
+        boolean matches = ETag.parse(ifMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(current, true));
+        if (!matches) {
+            throw new PreconditionFailedException("Resource has been modified");
+        }
+    }
+
+    private static StringBuilder key(StringBuilder key, VersionView view) {
+        return key.append(view.id()).append(':').append(view.version())
+                .append(':').append(view.authorVersion())
+                .append(':').append(view.assigneeVersion());
+    }
+
+    private static String digest(CharSequence key) {
+        return '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
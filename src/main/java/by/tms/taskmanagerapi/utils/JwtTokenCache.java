@@ -0,0 +1,87 @@
+package by.tms.taskmanagerapi.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Function;
+
+@Component
+public class JwtTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize,
+                         @Value("${jwt.cache.ttl:60s}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.tokens");
+    }
+
+    // Entries are keyed by the SHA-256 digest so raw tokens are not kept in memory
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    // Cleared only after commit: a request verified before then would otherwise re-cache the principal being replaced
+    public void invalidateAllAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record VerifiedToken(Claims claims, UserDetails userDetails) {
+    }
+
+    private record TokenExpiry(Duration ttl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExpiration = value.claims().getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(ttl.toNanos(), Duration.ofMillis(untilExpiration).toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package by.tms.taskmanagerapi.utils;
 
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.stereotype.Component;
@@ -11,24 +13,57 @@ import java.util.Date;
 public class JwtUtil {
     private final String SECRET_KEY = "secret";
     private final int TOKEN_VALIDITY = 1000 * 60 * 60; // 1 hour
+    private static final String ACCOUNT_ID_CLAIM = "id";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
 
-    public String generateToken(String email) {
+    public String generateToken(AccountPrincipal principal) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(principal.getUsername())
+                .claim(ACCOUNT_ID_CLAIM, principal.getId())
+                .claim(ROLE_CLAIM, principal.getRole())
+                .claim(TOKEN_VERSION_CLAIM, principal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY))
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
                 .compact();
     }
 
+    public Claims extractClaims(String token) {
+        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody().getSubject();
+        return extractClaims(token).getSubject();
     }
 
     public boolean isTokenValid(String token, String username) {
         return username.equals(extractUsername(token)) && !isTokenExpired(token);
     }
 
+    public boolean isTokenValid(Claims claims, String username) {
+        return username.equals(claims.getSubject()) && claims.getExpiration().after(new Date());
+    }
+
+    // Tokens issued before the account claims were introduced only carry the subject
+    public boolean hasAccountClaims(Claims claims) {
+        return claims.get(ACCOUNT_ID_CLAIM) != null && claims.get(ROLE_CLAIM) != null
+                && claims.get(TOKEN_VERSION_CLAIM) != null;
+    }
+
+    public Long extractAccountId(Claims claims) {
+        return claims.get(ACCOUNT_ID_CLAIM, Number.class).longValue();
+    }
+
+    public int extractTokenVersion(Claims claims) {
+        return claims.get(TOKEN_VERSION_CLAIM, Number.class).intValue();
+    }
+
+    public AccountPrincipal toPrincipal(Claims claims) {
+        return AccountPrincipal.fromToken(extractAccountId(claims), claims.getSubject(),
+                claims.get(ROLE_CLAIM, String.class), extractTokenVersion(claims));
+    }
+
     private boolean isTokenExpired(String token) {
         return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody().getExpiration().before(new Date());
     }
@@ -0,0 +1,73 @@
+package by.tms.taskmanagerapi.utils;
+
+// Hibernate work done on the current thread between start() and stop(), fed by the listeners in RequestStatisticsConfig
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long flushes;
+    private int managedEntities;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestStatistics stop() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics == null ? new RequestStatistics() : statistics;
+    }
+
+    public static void statementPrepared() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    public static void entityLoaded(int managedEntities) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+            statistics.managedEntities = Math.max(statistics.managedEntities, managedEntities);
+        }
+    }
+
+    public static void flushed(int managedEntities) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.flushes++;
+            statistics.managedEntities = Math.max(statistics.managedEntities, managedEntities);
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    // Largest persistence context seen at an entity load or a flush
+    public int getManagedEntities() {
+        return managedEntities;
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements + ", entityLoads=" + entityLoads + ", flushes=" + flushes
+                + ", managedEntities=" + managedEntities;
+    }
+}
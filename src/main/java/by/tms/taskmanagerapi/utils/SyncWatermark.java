@@ -0,0 +1,44 @@
+package by.tms.taskmanagerapi.utils;
+
+import by.tms.taskmanagerapi.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in the (changedAt, id) order shared by changed issues and tombstones
+public record SyncWatermark(LocalDateTime changedAt, Long id) implements Comparable<SyncWatermark> {
+
+    public static final SyncWatermark START = new SyncWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "|";
+
+    @Override
+    public int compareTo(SyncWatermark other) {
+        int byTime = changedAt.compareTo(other.changedAt);
+        return byTime != 0 ? byTime : id.compareTo(other.id);
+    }
+
+    public String encode() {
+        String raw = changedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncWatermark decode(String watermark) {
+        if (watermark == null || watermark.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid watermark");
+            }
+            return new SyncWatermark(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid watermark");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Entity changes made after the baseline schema, while ddl-auto=update still managed it.
+-- Baselined databases may already have them, hence the if not exists guards.
+
+alter table accounts add column if not exists token_version integer default 0 not null;
+
+-- issues.id is allocated from this pooled sequence now. The identity default of the column stays,
+-- as on databases created before, and is no longer used.
+create sequence if not exists issues_seq start with 1 increment by 50;
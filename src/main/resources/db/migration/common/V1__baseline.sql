@@ -0,0 +1,49 @@
+-- Schema as created by hibernate.ddl-auto=update from the entities before Flyway was introduced.
+-- Existing databases are baselined at this version and skip this script, so it must stay unchanged;
+-- later schema changes go into their own versions.
+
+create sequence if not exists comments_seq start with 1 increment by 50;
+
+create table accounts (
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN', 'USER')),
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table issues (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description varchar(255),
+    id_author bigint not null,
+    id_assignee bigint,
+    current_status varchar(255) check (current_status in ('BACKLOG', 'IN_PROGRESS', 'IN_REVIEW', 'DONE')),
+    priority varchar(255) check (priority in ('NO_PRIORITY', 'LOW', 'MEDIUM', 'HIGH')),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table comments (
+    id bigint not null,
+    content varchar(255),
+    id_author bigint not null,
+    id_issue bigint not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+alter table comments
+    add constraint FKge8nhp2l3dcht008w1iq79bs4 foreign key (id_author) references accounts on delete cascade;
+
+alter table comments
+    add constraint FKl6e64nbgmptytekb9mvjni5w2 foreign key (id_issue) references issues;
+
+alter table issues
+    add constraint FKk9y0yvdnekmlrja6y3l4nnc6j foreign key (id_assignee) references accounts;
+
+alter table issues
+    add constraint FKbmo8vkogdwmu6bab4ktv241qv foreign key (id_author) references accounts;
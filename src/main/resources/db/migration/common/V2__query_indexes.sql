@@ -0,0 +1,20 @@
+-- One index per repository access path, with the sort the API applies to it.
+-- Issue lists and cursors are ordered by (created_at desc, id desc).
+
+-- IssueRepository.findAllViews / findAllVersions / findFirstViews / findViewsAfter
+create index if not exists idx_issues_created_at_id on issues (created_at desc, id desc);
+
+-- IssueRepository.findViewsByAuthorId / findVersionsByAuthorId / cursor variants, cascading account deletes
+create index if not exists idx_issues_author_created_at_id on issues (id_author, created_at desc, id desc);
+
+-- IssueRepository.findViewsByAssigneeId / findVersionsByAssigneeId / cursor variants
+create index if not exists idx_issues_assignee_created_at_id on issues (id_assignee, created_at desc, id desc);
+
+-- CommentRepository.findByIssue_Id, issue deletes cascading to comments
+create index if not exists idx_comments_issue_created_at on comments (id_issue, created_at desc);
+
+-- ON DELETE CASCADE from accounts
+create index if not exists idx_comments_author on comments (id_author);
+
+-- AccountRepository.findAllViews sorted by created_at
+create index if not exists idx_accounts_created_at on accounts (created_at desc);
@@ -0,0 +1,6 @@
+-- Optimistic-lock versions backing the ETags of issues, comments and accounts.
+-- Existing rows start at 0, the value Hibernate seeds on insert.
+
+alter table issues add column version bigint default 0 not null;
+alter table comments add column version bigint default 0 not null;
+alter table accounts add column version bigint default 0 not null;
@@ -0,0 +1,12 @@
+-- Delta sync (GET /issues/changes) walks issues in (updated_at, id) order after a watermark.
+
+create index if not exists idx_issues_updated_at_id on issues (updated_at, id);
+
+-- Ids of deleted issues, purged after issues.changes.tombstone-retention
+create table issue_tombstones (
+    issue_id bigint not null,
+    deleted_at timestamp(6) not null,
+    primary key (issue_id)
+);
+
+create index if not exists idx_issue_tombstones_deleted_at_issue_id on issue_tombstones (deleted_at, issue_id);
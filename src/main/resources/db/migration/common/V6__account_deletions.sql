@@ -0,0 +1,18 @@
+-- Accounts are disabled at once and purged in chunks by AccountDeletionService.
+
+alter table accounts add column disabled boolean default false not null;
+
+-- Progress of each purge, kept after the account row is gone
+create table account_deletions (
+    account_id bigint not null,
+    version bigint not null,
+    requested_at timestamp(6) not null,
+    completed_at timestamp(6),
+    deleted_comments bigint default 0 not null,
+    unassigned_issues bigint default 0 not null,
+    deleted_issues bigint default 0 not null,
+    primary key (account_id)
+);
+
+-- AccountDeletionRepository.findPendingAccountIds
+create index if not exists idx_account_deletions_completed_at on account_deletions (completed_at);
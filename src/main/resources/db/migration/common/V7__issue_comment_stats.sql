@@ -0,0 +1,10 @@
+-- Comment count and latest comment activity kept on the issue row, so issue lists never read comments.
+-- Maintained by IssueService under the issue row lock, rebuilt by IssueCommentStatsService.repair.
+
+alter table issues add column comment_count integer default 0 not null;
+alter table issues add column last_activity_at timestamp(6);
+
+update issues set
+    comment_count = (select count(*) from comments c where c.id_issue = issues.id),
+    last_activity_at = (select max(coalesce(c.updated_at, c.created_at)) from comments c where c.id_issue = issues.id)
+where exists (select 1 from comments c where c.id_issue = issues.id);
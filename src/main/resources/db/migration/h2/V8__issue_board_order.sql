@@ -0,0 +1,11 @@
+-- Board columns are read in (board status, priority rank, created_at desc, id desc) order.
+-- Both keys are computed by the database, so one index serves the column pages and the board overview.
+-- Ranks must match BoardCursor.priorityRank. H2 generated columns are always stored; see postgresql/V8.
+
+alter table issues add column board_status varchar(255)
+    generated always as (coalesce(current_status, 'BACKLOG'));
+alter table issues add column priority_rank integer
+    generated always as (case priority when 'HIGH' then 0 when 'MEDIUM' then 1 when 'LOW' then 2 else 3 end);
+
+-- IssueRepository.findBoardViews / findFirstBoardColumnViews / findBoardColumnViewsAfter
+create index if not exists idx_issues_board on issues (board_status, priority_rank, created_at desc, id desc);
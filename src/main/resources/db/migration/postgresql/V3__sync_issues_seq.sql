@@ -0,0 +1,6 @@
+-- issues.id used to be an identity column. Move the pooled sequence past the ids it handed out,
+-- so that the next allocated block (value - 49 .. value) starts above max(id).
+-- The sequences only ever move forward: running instances may still hold a block above max(id).
+select setval('issues_seq', greatest((select coalesce(max(id), 0) from issues), (select last_value from issues_seq), 1));
+
+select setval('comments_seq', greatest((select coalesce(max(id), 0) from comments), (select last_value from comments_seq), 1));
@@ -0,0 +1,27 @@
+package by.tms.taskmanagerapi;
+
+import by.tms.taskmanagerapi.utils.RequestStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+// Fails when the action prepares more JDBC statements than allowed, e.g. a mapper walking lazy associations
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, ThrowingSupplier<T> action) {
+        RequestStatistics.start();
+        T result;
+        try {
+            result = action.get();
+        } catch (Throwable e) {
+            RequestStatistics.stop();
+            return Assertions.fail(e);
+        }
+        RequestStatistics statistics = RequestStatistics.stop();
+        Assertions.assertTrue(statistics.getStatements() <= max,
+                () -> "Expected at most " + max + " statements but got " + statistics);
+        return result;
+    }
+}
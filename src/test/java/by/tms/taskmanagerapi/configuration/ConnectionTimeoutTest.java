@@ -0,0 +1,53 @@
+package by.tms.taskmanagerapi.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250"
+})
+@AutoConfigureMockMvc
+class ConnectionTimeoutTest {
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mockMvc;
+
+    @Autowired
+    public ConnectionTimeoutTest(DataSource dataSource, MeterRegistry meterRegistry, MockMvc mockMvc) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.mockMvc = mockMvc;
+    }
+
+    @Test
+    void exhaustedPoolAnswersServiceUnavailable() throws Exception {
+        double timeouts = meterRegistry.get("hikaricp.connections.timeout").counter().count();
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            Assertions.assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            mockMvc.perform(get("/issues").with(user("pool@gmail.com")))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+            Assertions.assertEquals(timeouts + 2, meterRegistry.get("hikaricp.connections.timeout").counter().count());
+        }
+        mockMvc.perform(get("/issues").with(user("pool@gmail.com"))).andExpect(status().isOk());
+    }
+}
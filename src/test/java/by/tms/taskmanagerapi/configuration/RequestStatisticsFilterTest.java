@@ -0,0 +1,49 @@
+package by.tms.taskmanagerapi.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestStatisticsFilterTest {
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RequestStatisticsFilterTest(MockMvc mockMvc, MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    void statementsArePublishedPerControllerMethod() throws Exception {
+        mockMvc.perform(get("/issues").with(user("statistics@gmail.com"))).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("request.sql.statements")
+                .tag("handler", "IssueController.getIssuePage")
+                .summary();
+        Assertions.assertNotNull(statements);
+        Assertions.assertEquals(1, statements.count());
+        // ETag versions, the page of views and its count query
+        Assertions.assertTrue(statements.totalAmount() >= 2 && statements.totalAmount() <= 4);
+        Assertions.assertNotNull(meterRegistry.find("request.hibernate.entity.loads")
+                .tag("handler", "IssueController.getIssuePage").summary());
+
+        mockMvc.perform(get("/missing").with(user("statistics@gmail.com")));
+        Assertions.assertNotNull(meterRegistry.find("request.sql.statements").tag("handler", "unmapped").summary());
+    }
+}
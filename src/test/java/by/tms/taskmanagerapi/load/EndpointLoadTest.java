@@ -0,0 +1,279 @@
+package by.tms.taskmanagerapi.load;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import by.tms.taskmanagerapi.service.IssueSearchService;
+import by.tms.taskmanagerapi.service.IssueSummaryService;
+import by.tms.taskmanagerapi.utils.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Capacity run, excluded from ./gradlew test: ./gradlew loadTest
+// Not driven: /issues/export and /issues/search/rebuild walk the whole table, /issues/stream holds the connection,
+// PUT and DELETE /accounts change the caller's own credentials
+@Tag("load")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loaddb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.show-sql=false",
+        "issues.search.build-on-startup=false"
+})
+class EndpointLoadTest {
+
+    private static final int USER_TOKENS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final IssueSearchService issueSearchService;
+    private final IssueSummaryService issueSummaryService;
+    private final ObjectMapper objectMapper;
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final List<WeightedScenario> scenarios = new ArrayList<>();
+    private final AtomicLong scenarioFailures = new AtomicLong();
+    private LoadDataset dataset;
+    private LoadClient client;
+    private String adminToken;
+    private final List<String> userTokens = new ArrayList<>();
+    private int totalWeight;
+
+    @LocalServerPort
+    private int port;
+
+    // Same switches as application-virtual.properties; virtual threads need the loadTest JVM on Java 21+
+    @DynamicPropertySource
+    static void executionMode(DynamicPropertyRegistry registry) {
+        boolean virtualThreads = LoadSettings.fromSystemProperties().virtualThreads();
+        registry.add("spring.threads.virtual.enabled", () -> virtualThreads);
+        if (virtualThreads) {
+            registry.add("spring.datasource.hikari.connection-timeout", () -> 5000);
+        }
+    }
+
+    @Autowired
+    public EndpointLoadTest(JdbcTemplate jdbcTemplate,
+                            PasswordEncoder passwordEncoder,
+                            JwtUtil jwtUtil,
+                            IssueSearchService issueSearchService,
+                            IssueSummaryService issueSummaryService,
+                            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.issueSearchService = issueSearchService;
+        this.issueSummaryService = issueSummaryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @BeforeAll
+    void setUp() {
+        long start = System.nanoTime();
+        dataset = new LoadDataset(jdbcTemplate);
+        dataset.seed(settings, passwordEncoder.encode(LoadDataset.PASSWORD));
+        // The in-memory search index and summary counters were built on an empty database at startup
+        issueSearchService.rebuild();
+        issueSummaryService.reconcile();
+        System.out.printf("Execution mode %s on Java %s, %d client threads%n", settings.executionMode(),
+                Runtime.version(), settings.threads());
+        System.out.printf("Seeded %d accounts, %d issues, %d comments in %d s%n", settings.accounts(), settings.issues(),
+                settings.comments(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+        adminToken = token(0, "ADMIN");
+        for (int i = 1; i <= Math.min(USER_TOKENS, dataset.accountCount() - 1); i++) {
+            userTokens.add(token(i, "USER"));
+        }
+        client = new LoadClient(port, recorder);
+        registerScenarios();
+    }
+
+    @Test
+    void endpointLatency() throws Exception {
+        drive(settings.warmup());
+        recorder.reset();
+        drive(settings.duration());
+
+        recorder.report(settings.duration()).forEach(System.out::println);
+        recorder.writeCsv(settings.reportDir().resolve("endpoint-latency-" + settings.executionMode() + ".csv"), settings.duration());
+        Assertions.assertEquals(0, scenarioFailures.get());
+        Assertions.assertEquals(0, recorder.serverErrors());
+    }
+
+    private void drive(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        for (int i = 0; i < settings.threads(); i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    try {
+                        pick(random).scenario().run(random);
+                    } catch (Exception e) {
+                        if (scenarioFailures.getAndIncrement() == 0) {
+                            e.printStackTrace();
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private WeightedScenario pick(ThreadLocalRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (WeightedScenario scenario : scenarios) {
+            value -= scenario.weight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void registerScenarios() {
+        scenario("GET /issues", 10, random -> client.get("GET /issues", "/issues?page=" + random.nextInt(100) + "&size=10", adminToken));
+        scenario("GET /issues?after", 10, random -> follow("GET /issues?after", "/issues?size=20&after=", random));
+        scenario("GET /issues/{id}", 15, random -> client.get("GET /issues/{id}", "/issues/" + dataset.randomIssueId(random), adminToken));
+        scenario("GET /issues/author/{id}", 5, random -> client.get("GET /issues/author/{id}",
+                "/issues/author/" + dataset.randomAccountId(random) + "?size=10", adminToken));
+        scenario("GET /issues/author/{id}?after", 5, random -> follow("GET /issues/author/{id}?after",
+                "/issues/author/" + dataset.randomAccountId(random) + "?size=10&after=", random));
+        scenario("GET /issues/assigned/{id}", 5, random -> client.get("GET /issues/assigned/{id}",
+                "/issues/assigned/" + dataset.randomAccountId(random) + "?size=10", adminToken));
+        scenario("GET /issues/assigned/{id}?after", 5, random -> follow("GET /issues/assigned/{id}?after",
+                "/issues/assigned/" + dataset.randomAccountId(random) + "?size=10&after=", random));
+        scenario("GET /issues/{id}/comments", 10, random -> client.get("GET /issues/{id}/comments",
+                "/issues/" + dataset.randomIssueId(random) + "/comments?size=10", adminToken));
+        scenario("GET /issues/changes", 3, random -> client.get("GET /issues/changes", "/issues/changes?size=100", adminToken));
+        scenario("GET /issues/summary", 3, random -> client.get("GET /issues/summary", random.nextBoolean()
+                ? "/issues/summary" : "/issues/summary?assigneeId=" + dataset.randomAccountId(random), adminToken));
+        scenario("GET /issues/search", 5, random -> client.get("GET /issues/search", "/issues/search?q="
+                + LoadDataset.WORDS[random.nextInt(LoadDataset.WORDS.length)], adminToken));
+        scenario("GET /boards/default", 3, random -> client.get("GET /boards/default", "/boards/default?size=10", adminToken));
+        scenario("GET /boards/default/columns/{status}", 3, random -> client.get("GET /boards/default/columns/{status}", "/boards/default/columns/"
+                + Status.values()[random.nextInt(Status.values().length)] + "?size=10", adminToken));
+        scenario("POST /issues", 3, random -> client.send("POST /issues", "POST", "/issues", adminToken, issueJson(random)));
+        scenario("PATCH /issues/{id}", 4, random -> client.send("PATCH /issues/{id}", "PATCH", "/issues/" + dataset.randomIssueId(random),
+                adminToken, json(Map.of("title", "Patched load issue", "priority", randomPriority(random)))));
+        scenario("PUT /issues/{id}", 2, random -> client.send("PUT /issues/{id}", "PUT", "/issues/" + dataset.randomIssueId(random),
+                adminToken, issueJson(random)));
+        scenario("POST /issues + DELETE /issues/{id}", 1, random -> {
+            Long id = id(client.send("POST /issues", "POST", "/issues", adminToken, issueJson(random)));
+            if (id != null) {
+                client.send("DELETE /issues/{id}", "DELETE", "/issues/" + id, adminToken, null);
+            }
+        });
+        scenario("POST /issues/batch", 1, random -> {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                items.add(issueJson(random));
+            }
+            client.send("POST /issues/batch", "POST", "/issues/batch", adminToken, "[" + String.join(",", items) + "]");
+        });
+        scenario("POST /issues/{id}/comments", 2, random -> client.send("POST /issues/{id}/comments", "POST",
+                "/issues/" + dataset.randomIssueId(random) + "/comments", adminToken, json(Map.of("content", "Load comment"))));
+        scenario("comment create, patch, delete", 4, random -> {
+            long issueId = dataset.randomIssueId(random);
+            Long id = id(client.send("POST /issues/{id}/comments", "POST", "/issues/" + issueId + "/comments",
+                    adminToken, json(Map.of("content", "Load comment"))));
+            if (id != null) {
+                client.send("PATCH /issues/{id}/comments/{id}", "PATCH", "/issues/" + issueId + "/comments/" + id,
+                        adminToken, json(Map.of("content", "Edited load comment")));
+                client.send("DELETE /issues/{id}/comments/{id}", "DELETE", "/issues/" + issueId + "/comments/" + id,
+                        adminToken, null);
+            }
+        });
+        scenario("GET /accounts", 3, random -> client.get("GET /accounts", "/accounts?page=" + random.nextInt(100) + "&size=10", adminToken));
+        scenario("GET /accounts/me", 5, random -> client.get("GET /accounts/me", "/accounts/me", userTokens.get(random.nextInt(userTokens.size()))));
+        scenario("POST /accounts + DELETE /accounts/{id}", 1, random -> {
+            String email = "load-" + UUID.randomUUID() + "@gmail.com";
+            Long id = id(client.send("POST /accounts", "POST", "/accounts", null,
+                    json(Map.of("email", email, "password", LoadDataset.PASSWORD))));
+            if (id != null) {
+                client.send("DELETE /accounts/{id}", "DELETE", "/accounts/" + id, adminToken, null);
+            }
+        });
+        scenario("POST /auth/login", 1, random -> client.send("POST /auth/login", "POST", "/auth/login", null,
+                json(Map.of("email", dataset.email(1 + random.nextInt(dataset.accountCount() - 1)), "password", LoadDataset.PASSWORD))));
+    }
+
+    private void scenario(String name, int weight, Scenario scenario) {
+        if (settings.endpoints().isEmpty() || settings.endpoints().contains(name)) {
+            scenarios.add(new WeightedScenario(weight, scenario));
+            totalWeight += weight;
+        }
+    }
+
+    // Fetches the first slice and then the one its cursor points to
+    private void follow(String endpoint, String path, ThreadLocalRandom random) throws Exception {
+        HttpResponse<String> first = client.get(endpoint, path, adminToken);
+        if (first == null || first.statusCode() != 200) {
+            return;
+        }
+        JsonNode next = objectMapper.readTree(first.body()).get("nextCursor");
+        if (next != null && !next.isNull()) {
+            client.get(endpoint, path + URLEncoder.encode(next.asText(), StandardCharsets.UTF_8), adminToken);
+        }
+    }
+
+    private String issueJson(ThreadLocalRandom random) throws Exception {
+        return json(Map.of("title", "Load issue " + random.nextInt(1_000_000),
+                "description", "Created by the load harness",
+                "idAssignee", dataset.randomAccountId(random),
+                "currentStatus", Status.values()[random.nextInt(Status.values().length)],
+                "priority", randomPriority(random)));
+    }
+
+    private Priority randomPriority(ThreadLocalRandom random) {
+        return Priority.values()[random.nextInt(Priority.values().length)];
+    }
+
+    private String json(Map<String, ?> body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private Long id(HttpResponse<String> response) throws Exception {
+        if (response == null || response.statusCode() >= 300) {
+            return null;
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private String token(int index, String role) {
+        return jwtUtil.generateToken(AccountPrincipal.fromToken(dataset.accountId(index), dataset.email(index), role, 0));
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void run(ThreadLocalRandom random) throws Exception;
+    }
+
+    private record WeightedScenario(int weight, Scenario scenario) {
+    }
+}
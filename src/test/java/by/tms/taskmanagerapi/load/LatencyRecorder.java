@@ -0,0 +1,81 @@
+package by.tms.taskmanagerapi.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency histograms in microseconds with 3 significant digits
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (status >= 500 || status == 0) {
+            stats.serverErrors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    long serverErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.serverErrors.sum()).sum();
+    }
+
+    List<String> report(Duration elapsed) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-44s %9s %9s %9s %9s %9s %9s %7s %7s",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "4xx", "5xx"));
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            Histogram histogram = stats.histogram;
+            lines.add(String.format(Locale.ROOT, "%-44s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d",
+                    endpoint, histogram.getTotalCount(), histogram.getTotalCount() * 1000.0 / elapsed.toMillis(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                    stats.clientErrors.sum(), stats.serverErrors.sum()));
+        });
+        return lines;
+    }
+
+    void writeCsv(Path file, Duration elapsed) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms,client_errors,server_errors");
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            Histogram histogram = stats.histogram;
+            lines.add(String.format(Locale.ROOT, "\"%s\",%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                    endpoint, histogram.getTotalCount(), histogram.getTotalCount() * 1000.0 / elapsed.toMillis(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                    stats.clientErrors.sum(), stats.serverErrors.sum()));
+        });
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class EndpointStats {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+    }
+}
@@ -0,0 +1,49 @@
+package by.tms.taskmanagerapi.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// Sends a request and records its latency under the endpoint template, transport failures count as status 0
+class LoadClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    LoadClient(int port, LatencyRecorder recorder) {
+        this.baseUrl = "http://localhost:" + port;
+        this.recorder = recorder;
+    }
+
+    HttpResponse<String> get(String endpoint, String path, String token) throws InterruptedException {
+        return send(endpoint, "GET", path, token, null);
+    }
+
+    HttpResponse<String> send(String endpoint, String method, String path, String token, String json) throws InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (json != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, 0);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package by.tms.taskmanagerapi.load;
+
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Role;
+import by.tms.taskmanagerapi.entity.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+// Synthetic accounts, issues and comments written with plain JDBC batches, bypassing the services
+class LoadDataset {
+    static final String PASSWORD = "Password123!";
+    static final String[] WORDS = {"login", "export", "board", "comment", "search", "token", "cache",
+            "migration", "report", "filter", "upload", "billing", "profile", "sync", "webhook", "layout"};
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+    private long[] accountIds;
+    private int issues;
+
+    LoadDataset(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void seed(LoadSettings settings, String passwordHash) {
+        seedAccounts(settings.accounts(), passwordHash);
+        seedIssues(settings.issues());
+        seedComments(settings.comments());
+    }
+
+    // The first account is the admin
+    String email(int index) {
+        return "load" + index + "@gmail.com";
+    }
+
+    long accountId(int index) {
+        return accountIds[index];
+    }
+
+    int accountCount() {
+        return accountIds.length;
+    }
+
+    long randomAccountId(RandomGenerator random) {
+        return accountIds[random.nextInt(accountIds.length)];
+    }
+
+    long randomIssueId(RandomGenerator random) {
+        return 1 + random.nextInt(issues);
+    }
+
+    private void seedAccounts(int count, String passwordHash) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(365));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            Role role = i == 0 ? Role.ADMIN : Role.USER;
+            batch.add(new Object[]{email(i), passwordHash, role.name(), createdAt});
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate("insert into accounts (email, password, role, token_version, created_at, version) " +
+                        "values (?, ?, ?, 0, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        accountIds = jdbcTemplate.queryForList("select id from accounts order by id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void seedIssues(int count) {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(count);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i));
+            Long assignee = random.nextInt(5) == 0 ? null : randomAccountId(random);
+            batch.add(new Object[]{i, "Fix " + WORDS[random.nextInt(WORDS.length)] + " in " + WORDS[random.nextInt(WORDS.length)] + " #" + i,
+                    "Synthetic issue " + i, randomAccountId(random), assignee,
+                    STATUSES[random.nextInt(STATUSES.length)].name(), PRIORITIES[random.nextInt(PRIORITIES.length)].name(),
+                    createdAt, createdAt});
+            if (batch.size() == BATCH_SIZE || i == count) {
+                jdbcTemplate.batchUpdate("insert into issues (id, title, description, id_author, id_assignee, current_status, " +
+                        "priority, created_at, updated_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        issues = count;
+        restartSequence("issues_seq", count);
+    }
+
+    private void seedComments(int count) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            batch.add(new Object[]{i, "Synthetic comment " + i, randomAccountId(random), randomIssueId(random), createdAt, createdAt});
+            if (batch.size() == BATCH_SIZE || i == count) {
+                jdbcTemplate.batchUpdate("insert into comments (id, content, id_author, id_issue, created_at, updated_at, version) " +
+                        "values (?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        restartSequence("comments_seq", count);
+        // The services keep these columns in step with comments, plain inserts have to fill them in
+        jdbcTemplate.update("update issues set " +
+                "comment_count = (select count(*) from comments c where c.id_issue = issues.id), " +
+                "last_activity_at = (select max(c.updated_at) from comments c where c.id_issue = issues.id)");
+    }
+
+    // Ids were assigned here, so the sequences the application allocates from must start past them
+    private void restartSequence(String sequence, int lastId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (lastId + 1000));
+    }
+}
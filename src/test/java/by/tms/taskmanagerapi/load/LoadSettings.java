@@ -0,0 +1,42 @@
+package by.tms.taskmanagerapi.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Volumes and run length, overridden with -Pload.<name>=<value> on the loadTest task
+record LoadSettings(int accounts,
+                    int issues,
+                    int comments,
+                    int threads,
+                    Duration warmup,
+                    Duration duration,
+                    Set<String> endpoints,
+                    boolean virtualThreads,
+                    Path reportDir) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.accounts", 10_000),
+                Integer.getInteger("load.issues", 200_000),
+                Integer.getInteger("load.comments", 1_000_000),
+                Integer.getInteger("load.threads", 32),
+                DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("load.duration", "60s")),
+                // Scenario names separated by ';', e.g. "GET /issues;POST /issues/{id}/comments", empty runs all of them
+                Arrays.stream(System.getProperty("load.endpoints", "").split(";"))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .collect(Collectors.toSet()),
+                Boolean.getBoolean("load.virtual-threads"),
+                Path.of(System.getProperty("load.report-dir", "build/reports/load")));
+    }
+
+    String executionMode() {
+        return virtualThreads ? "virtual" : "platform";
+    }
+}
@@ -0,0 +1,183 @@
+package by.tms.taskmanagerapi.repository;
+
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Comment;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.entity.Status;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+
+// Runs the SQL behind every filtered repository query the services run through EXPLAIN and fails on a full table scan
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=by.tms.taskmanagerapi.repository.SqlCapture",
+        "issues.search.build-on-startup=false"
+})
+class QueryPlanTest {
+
+    private static final int ACCOUNTS = 20;
+    private static final int ISSUES_PER_ACCOUNT = 100;
+
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final AccountRepository accountRepository;
+    private final IssueTombstoneRepository issueTombstoneRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Pageable byCreatedAt = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+    private final LocalDateTime now = LocalDateTime.now();
+    private Account account;
+    private Issue issue;
+    private Comment comment;
+
+    @Autowired
+    public QueryPlanTest(IssueRepository issueRepository,
+                         CommentRepository commentRepository,
+                         AccountRepository accountRepository,
+                         IssueTombstoneRepository issueTombstoneRepository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate) {
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.accountRepository = accountRepository;
+        this.issueTombstoneRepository = issueTombstoneRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @BeforeAll
+    void setUp() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account seeded = new Account();
+            seeded.setEmail("plan" + i + "@gmail.com");
+            seeded.setPassword("Password123!");
+            accounts.add(seeded);
+        }
+        accounts = accountRepository.saveAll(accounts);
+        List<Issue> issues = new ArrayList<>();
+        for (Account author : accounts) {
+            for (int i = 0; i < ISSUES_PER_ACCOUNT; i++) {
+                Issue seeded = new Issue();
+                seeded.setTitle("Issue " + i);
+                seeded.setAuthor(author);
+                seeded.setAssignee(accounts.get(i % ACCOUNTS));
+                issues.add(seeded);
+            }
+        }
+        issues = issueRepository.saveAll(issues);
+        List<Comment> comments = new ArrayList<>();
+        for (Issue commented : issues) {
+            Comment seeded = new Comment();
+            seeded.setContent("Comment");
+            seeded.setAuthor(commented.getAuthor());
+            seeded.setIssue(commented);
+            comments.add(seeded);
+        }
+        comments = commentRepository.saveAll(comments);
+        account = accounts.get(0);
+        issue = issues.get(0);
+        comment = comments.get(0);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    // Locking queries need a transaction to run in
+    private void assertIndexedInTransaction(Runnable query) {
+        assertIndexed(() -> transactionTemplate.executeWithoutResult(status -> query.run()));
+    }
+
+    private void assertIndexed(Runnable query) {
+        SqlCapture.start();
+        try {
+            query.run();
+        } finally {
+            List<String> statements = SqlCapture.stop();
+            Assertions.assertFalse(statements.isEmpty());
+            for (String sql : statements) {
+                String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+                Assertions.assertFalse(plan.contains("tableScan"), () -> "Full scan in plan:\n" + plan);
+            }
+        }
+    }
+
+    @Test
+    void issueQueriesById() {
+        assertIndexed(() -> issueRepository.findVersionById(issue.getId()));
+        assertIndexed(() -> issueRepository.findOwnersById(issue.getId()));
+        assertIndexedInTransaction(() -> issueRepository.findByIdForUpdate(issue.getId()));
+        assertIndexedInTransaction(() -> issueRepository.lockByIdIn(List.of(issue.getId())));
+    }
+
+    @Test
+    void issueQueriesByAuthor() {
+        assertIndexed(() -> issueRepository.findViewsByAuthorId(account.getId(), byCreatedAt));
+        assertIndexed(() -> issueRepository.findFirstViewsByAuthorId(account.getId(), Limit.of(11)));
+        assertIndexed(() -> issueRepository.findViewsByAuthorIdAfter(account.getId(), now, issue.getId(), Limit.of(11)));
+        assertIndexed(() -> issueRepository.findVersionsByAuthorId(account.getId(), byCreatedAt));
+        assertIndexed(() -> issueRepository.findViewsByAuthorIdOrderById(account.getId(), Limit.of(500)));
+    }
+
+    @Test
+    void issueQueriesByAssignee() {
+        assertIndexed(() -> issueRepository.findViewsByAssigneeId(account.getId(), byCreatedAt));
+        assertIndexed(() -> issueRepository.findFirstViewsByAssigneeId(account.getId(), Limit.of(11)));
+        assertIndexed(() -> issueRepository.findViewsByAssigneeIdAfter(account.getId(), now, issue.getId(), Limit.of(11)));
+        assertIndexed(() -> issueRepository.findVersionsByAssigneeId(account.getId(), byCreatedAt));
+        assertIndexed(() -> issueRepository.findViewsAssignedToOthersIssues(account.getId(), Limit.of(500)));
+    }
+
+    @Test
+    void issueCursorQueries() {
+        assertIndexed(() -> issueRepository.findFirstViews(Limit.of(11)));
+        assertIndexed(() -> issueRepository.findViewsAfter(now, issue.getId(), Limit.of(11)));
+    }
+
+    @Test
+    void boardQueries() {
+        assertIndexed(() -> issueRepository.findBoardViews(11));
+        assertIndexed(() -> issueRepository.findFirstBoardColumnViews(Status.BACKLOG, Limit.of(11)));
+        assertIndexed(() -> issueRepository.findBoardColumnViewsAfter(Status.BACKLOG, 3, now, issue.getId(), Limit.of(11)));
+    }
+
+    @Test
+    void deltaSyncQueries() {
+        assertIndexed(() -> issueRepository.findViewsChangedAfter(now, issue.getId(), now.plusDays(1), Limit.of(101)));
+        assertIndexed(() -> issueTombstoneRepository.findAfter(now, issue.getId(), now.plusDays(1), Limit.of(101)));
+    }
+
+    @Test
+    void commentStatsQueries() {
+        // one repair chunk: the id range bounds the issues, the comment subqueries go through the issue index
+        assertIndexedInTransaction(() -> issueRepository.lockDriftedCommentStats(0L, 10_000L));
+        assertIndexed(() -> commentRepository.findLastActivityByIssueId(issue.getId()));
+    }
+
+    @Test
+    void commentQueries() {
+        assertIndexed(() -> commentRepository.findByIssue_Id(issue.getId(), byCreatedAt));
+        assertIndexed(() -> commentRepository.findByIdAndIssue_Id(comment.getId(), issue.getId()));
+        assertIndexed(() -> commentRepository.findVersionsByIssueId(issue.getId(), byCreatedAt));
+        assertIndexed(() -> commentRepository.findAuthorIdById(comment.getId()));
+        assertIndexed(() -> commentRepository.findViewsByAuthorId(account.getId(), Limit.of(500)));
+    }
+}
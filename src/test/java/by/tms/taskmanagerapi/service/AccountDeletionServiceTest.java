@@ -0,0 +1,175 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.account.AccountDeletionDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.AccountDeletion;
+import by.tms.taskmanagerapi.entity.Comment;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.exceptions.NotFoundException;
+import by.tms.taskmanagerapi.repository.AccountDeletionRepository;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.CommentRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.repository.IssueTombstoneRepository;
+import by.tms.taskmanagerapi.security.TokenVersionRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "accounts.deletion.chunk-size=2",
+        "accounts.deletion.resume-interval=1h"
+})
+class AccountDeletionServiceTest {
+
+    private final AccountService accountService;
+    private final AccountDeletionService accountDeletionService;
+    private final IssueSummaryService issueSummaryService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final AccountRepository accountRepository;
+    private final AccountDeletionRepository accountDeletionRepository;
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final IssueTombstoneRepository issueTombstoneRepository;
+    private int emailIndex = 1;
+
+    @Autowired
+    public AccountDeletionServiceTest(AccountService accountService,
+                                      AccountDeletionService accountDeletionService,
+                                      IssueSummaryService issueSummaryService,
+                                      TokenVersionRegistry tokenVersionRegistry,
+                                      AccountRepository accountRepository,
+                                      AccountDeletionRepository accountDeletionRepository,
+                                      IssueRepository issueRepository,
+                                      CommentRepository commentRepository,
+                                      IssueTombstoneRepository issueTombstoneRepository) {
+        this.accountService = accountService;
+        this.accountDeletionService = accountDeletionService;
+        this.issueSummaryService = issueSummaryService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.accountRepository = accountRepository;
+        this.accountDeletionRepository = accountDeletionRepository;
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.issueTombstoneRepository = issueTombstoneRepository;
+    }
+
+    @AfterAll
+    void tearDown() {
+        issueRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountDeletionRepository.deleteAll();
+    }
+
+    @Test
+    void purgesAccountDataInChunks() {
+        Account deleted = account();
+        Account other = account();
+        List<Long> authoredIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Issue issue = issue("authored " + i, deleted, null);
+            authoredIds.add(issue.getId());
+            comment(issue, other);
+        }
+        Issue otherIssue = issue("other", other, deleted);
+        Issue otherAssigned = issue("other assigned", other, deleted);
+        for (int i = 0; i < 3; i++) {
+            comment(otherIssue, deleted);
+        }
+        // the fixtures bypass the services, so seed the counters from the table
+        issueSummaryService.reconcile();
+        long totalBefore = issueSummaryService.getSummary(null).getTotal();
+        int tokenVersion = deleted.getTokenVersion();
+
+        AccountDeletionDto requested = accountService.deleteById(deleted.getId());
+        Assertions.assertNull(requested.getCompletedAt());
+        Assertions.assertFalse(tokenVersionRegistry.isCurrent(deleted.getId(), tokenVersion));
+        Assertions.assertFalse(tokenVersionRegistry.isCurrent(deleted.getId(), tokenVersion + 1));
+        accountDeletionService.resume(deleted.getId()).join();
+
+        AccountDeletionDto completed = accountService.getDeletion(deleted.getId());
+        Assertions.assertNotNull(completed.getCompletedAt());
+        Assertions.assertEquals(3, completed.getDeletedComments());
+        Assertions.assertEquals(2, completed.getUnassignedIssues());
+        Assertions.assertEquals(5, completed.getDeletedIssues());
+        Assertions.assertFalse(accountRepository.existsById(deleted.getId()));
+        Assertions.assertTrue(issueRepository.findAllById(authoredIds).isEmpty());
+        Assertions.assertEquals(5, issueTombstoneRepository.findAllById(authoredIds).size());
+
+        Issue unassigned = issueRepository.findById(otherAssigned.getId()).orElseThrow();
+        Assertions.assertNull(unassigned.getAssignee());
+        Assertions.assertEquals(otherAssigned.getVersion() + 1, unassigned.getVersion());
+        Assertions.assertEquals(0, commentRepository.findByIssue_Id(otherIssue.getId(), Pageable.unpaged()).getTotalElements());
+        // each chunk published its events, so the counters match without a reconcile
+        Assertions.assertEquals(totalBefore - 5, issueSummaryService.getSummary(null).getTotal());
+        Assertions.assertEquals(0, issueSummaryService.getSummary(deleted.getId()).getTotal());
+    }
+
+    @Test
+    void repeatedRequestReturnsRunningDeletion() {
+        Account account = account();
+        AccountDeletionDto first = accountService.deleteById(account.getId());
+        AccountDeletionDto second = accountDeletionService.requestDeletion(accountRepository.findById(account.getId())
+                .orElseThrow());
+        // the stored timestamp keeps microseconds only
+        Assertions.assertEquals(first.getRequestedAt().truncatedTo(ChronoUnit.MILLIS),
+                second.getRequestedAt().truncatedTo(ChronoUnit.MILLIS));
+        accountDeletionService.resume(account.getId()).join();
+        Assertions.assertThrows(NotFoundException.class, () -> accountService.deleteById(account.getId()));
+    }
+
+    @Test
+    void unfinishedDeletionIsResumed() {
+        // as left behind by a restart: account disabled, some progress recorded, data still there
+        Account account = account();
+        account.setDisabled(true);
+        account = accountRepository.save(account);
+        issue("left over", account, null);
+        AccountDeletion deletion = new AccountDeletion();
+        deletion.setAccountId(account.getId());
+        deletion.setRequestedAt(LocalDateTime.now());
+        deletion.setDeletedIssues(4);
+        accountDeletionRepository.save(deletion);
+
+        accountDeletionService.resumePending();
+        accountDeletionService.resume(account.getId()).join();
+
+        AccountDeletionDto completed = accountService.getDeletion(account.getId());
+        Assertions.assertNotNull(completed.getCompletedAt());
+        Assertions.assertEquals(5, completed.getDeletedIssues());
+        Assertions.assertFalse(accountRepository.existsById(account.getId()));
+    }
+
+    private Account account() {
+        Account account = new Account();
+        account.setEmail("deletion" + (emailIndex++) + "@gmail.com");
+        account.setPassword("Password123!");
+        return accountRepository.save(account);
+    }
+
+    private Issue issue(String title, Account author, Account assignee) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setAuthor(author);
+        issue.setAssignee(assignee);
+        return issueRepository.save(issue);
+    }
+
+    private void comment(Issue issue, Account author) {
+        Comment comment = new Comment();
+        comment.setContent("comment");
+        comment.setIssue(issue);
+        comment.setAuthor(author);
+        commentRepository.save(comment);
+    }
+}
@@ -1,35 +1,68 @@
 package by.tms.taskmanagerapi.service;
 
 import by.tms.taskmanagerapi.dto.account.AccountCreateDto;
+import by.tms.taskmanagerapi.dto.account.AccountDeletionDto;
 import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
 import by.tms.taskmanagerapi.entity.Account;
 import by.tms.taskmanagerapi.entity.Role;
 import by.tms.taskmanagerapi.exceptions.AlreadyExistsException;
 import by.tms.taskmanagerapi.exceptions.NotFoundException;
+import by.tms.taskmanagerapi.exceptions.ServiceUnavailableException;
 import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.emptyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @ActiveProfiles("test")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @SpringBootTest
+@AutoConfigureMockMvc
 class AccountServiceTest {
     @InjectMocks
     private final AccountService accountService;
+    private final AccountDeletionService accountDeletionService;
     private final AccountRepository accountRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PasswordHashingService passwordHashingService;
+    private final MockMvc mockMvc;
 
     @Mock
     private Authentication authentication;
@@ -37,9 +70,18 @@ class AccountServiceTest {
     private String testPassword = "Password123!";
     private int emailIndex = 1;
     @Autowired
-    public AccountServiceTest(AccountService accountService, AccountRepository accountRepository) {
+    public AccountServiceTest(AccountService accountService,
+                              AccountDeletionService accountDeletionService,
+                              AccountRepository accountRepository,
+                              EntityManagerFactory entityManagerFactory,
+                              PasswordHashingService passwordHashingService,
+                              MockMvc mockMvc) {
         this.accountService = accountService;
+        this.accountDeletionService = accountDeletionService;
         this.accountRepository = accountRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.passwordHashingService = passwordHashingService;
+        this.mockMvc = mockMvc;
     }
 
     private String generateEmail() {
@@ -64,7 +106,7 @@ class AccountServiceTest {
         AccountCreateDto accountCreateDto = new AccountCreateDto();
         accountCreateDto.setEmail(generateEmail());
         accountCreateDto.setPassword(testPassword);
-        AccountResponseDto accountResponseDto = accountService.create(accountCreateDto) ;
+        AccountResponseDto accountResponseDto = accountService.create(accountCreateDto).join();
         Assertions.assertNotNull(accountResponseDto.getId());
         Assertions.assertEquals(accountCreateDto.getEmail(), accountResponseDto.getEmail());
         Account account = accountRepository.findById(accountResponseDto.getId()).orElseThrow(()-> new NotFoundException("Account not found"));
@@ -74,6 +116,115 @@ class AccountServiceTest {
         Assertions.assertThrows(AlreadyExistsException.class,()->accountService.create(accountCreateDto));
     }
 
+    @Test
+    void concurrentRegistrationOfSameEmailIsConflict() throws Exception {
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword(testPassword);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<AccountResponseDto> created;
+        try {
+            // the email check passes, then the other registration commits while the password is hashed
+            blockHashing(release, false);
+            created = accountService.create(accountCreateDto);
+            Account other = new Account();
+            other.setEmail(accountCreateDto.getEmail());
+            other.setPassword(testPassword);
+            accountRepository.save(other);
+        } finally {
+            release.countDown();
+        }
+        CompletionException exception = Assertions.assertThrows(CompletionException.class, created::join);
+        Assertions.assertInstanceOf(AlreadyExistsException.class, exception.getCause());
+    }
+
+    @Test
+    void authenticate() {
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword(testPassword);
+        AccountResponseDto account = accountService.create(accountCreateDto).join();
+
+        AccountPrincipal principal = accountService.authenticate(account.getEmail(), testPassword).join();
+        Assertions.assertEquals(account.getId(), principal.getId());
+        CompletionException wrongPassword = Assertions.assertThrows(CompletionException.class,
+                () -> accountService.authenticate(account.getEmail(), "Wrong123!").join());
+        Assertions.assertInstanceOf(BadCredentialsException.class, wrongPassword.getCause());
+        CompletionException unknownEmail = Assertions.assertThrows(CompletionException.class,
+                () -> accountService.authenticate("unknown@gmail.com", testPassword).join());
+        Assertions.assertInstanceOf(BadCredentialsException.class, unknownEmail.getCause());
+    }
+
+    @Test
+    void loginCompletesAsynchronously() throws Exception {
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword(testPassword);
+        accountService.create(accountCreateDto).join();
+
+        MvcResult login = mockMvc.perform(login(accountCreateDto.getEmail(), testPassword))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(emptyString())));
+        MvcResult rejected = mockMvc.perform(login(accountCreateDto.getEmail(), "Wrong123!"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(rejected)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void saturatedHashingIsRejectedWithServiceUnavailable() throws Exception {
+        ThreadPoolExecutor executor = hashingExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            blockHashing(release, true);
+            Assertions.assertThrows(ServiceUnavailableException.class, () -> accountService.authenticate(testEmail, testPassword));
+            long completed = executor.getCompletedTaskCount();
+            mockMvc.perform(login(testEmail, testPassword))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            // rejected before any hashing was done
+            Assertions.assertEquals(completed, executor.getCompletedTaskCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private ThreadPoolExecutor hashingExecutor() {
+        Object target = AopTestUtils.getTargetObject(passwordHashingService);
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(target, "executor");
+    }
+
+    // Occupies every hashing thread, and optionally every queue slot, until released
+    private void blockHashing(CountDownLatch release, boolean fillQueue) throws InterruptedException {
+        ThreadPoolExecutor executor = hashingExecutor();
+        CountDownLatch started = new CountDownLatch(executor.getMaximumPoolSize());
+        Runnable blocker = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < executor.getMaximumPoolSize(); i++) {
+            executor.execute(blocker);
+        }
+        // queued blockers only run once released, so the queue is filled after the threads have taken theirs
+        started.await();
+        while (fillQueue && executor.getQueue().remainingCapacity() > 0) {
+            executor.execute(blocker);
+        }
+    }
+
+    private static RequestBuilder login(String email, String password) {
+        return post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\"}");
+    }
+
     @Test
     void existByEmail() {
         Assertions.assertTrue(accountService.existByEmail(testEmail));
@@ -127,6 +278,49 @@ class AccountServiceTest {
         Assertions.assertTrue(accountRepository.existsByEmail(accountCreateDto.getEmail()));
     }
 
+    @Test
+    void updateAccountIncrementsTokenVersion() {
+        Account account = new Account();
+        account.setEmail(generateEmail());
+        account.setPassword(testPassword);
+        account = accountRepository.save(account);
+        when(authentication.getName()).thenReturn(account.getEmail());
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword(testPassword);
+        accountService.updateAccount(accountCreateDto, authentication);
+        Assertions.assertEquals(account.getTokenVersion() + 1,
+                accountRepository.findTokenVersionById(account.getId()).orElseThrow());
+    }
+
+    @Test
+    void findByEmailUsesNaturalIdCacheAndFollowsUpdates() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Account account = new Account();
+        account.setEmail(generateEmail());
+        account.setPassword(testPassword);
+        account = accountRepository.save(account);
+        String oldEmail = account.getEmail();
+        accountRepository.findByEmail(oldEmail).orElseThrow();
+        long hits = statistics.getNaturalIdCacheHitCount();
+        accountRepository.findByEmail(oldEmail).orElseThrow();
+        Assertions.assertTrue(statistics.getNaturalIdCacheHitCount() > hits);
+
+        when(authentication.getName()).thenReturn(oldEmail);
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword(testPassword);
+        accountService.updateAccount(accountCreateDto, authentication);
+        Assertions.assertTrue(accountRepository.findByEmail(oldEmail).isEmpty());
+        Account updated = accountRepository.findByEmail(accountCreateDto.getEmail()).orElseThrow();
+        Assertions.assertEquals(account.getId(), updated.getId());
+        Assertions.assertEquals(account.getTokenVersion() + 1, updated.getTokenVersion());
+
+        accountService.deleteById(account.getId());
+        accountDeletionService.resume(account.getId()).join();
+        Assertions.assertTrue(accountRepository.findByEmail(accountCreateDto.getEmail()).isEmpty());
+    }
+
     @Test
     void deleteById() {
         Account account = new Account();
@@ -134,7 +328,9 @@ class AccountServiceTest {
         account.setPassword(testPassword);
         account = accountRepository.save(account);
         Assertions.assertTrue(accountRepository.existsById(account.getId()));
-        accountService.deleteById(account.getId());
+        AccountDeletionDto deletion = accountService.deleteById(account.getId());
+        Assertions.assertEquals(account.getId(), deletion.getAccountId());
+        accountDeletionService.resume(account.getId()).join();
         Assertions.assertFalse(accountRepository.existsById(account.getId()));
     }
 
@@ -147,6 +343,9 @@ class AccountServiceTest {
       account = accountRepository.save(account);
         Assertions.assertTrue(accountRepository.existsByEmail(account.getEmail()));
         accountService.delete(authentication);
+        // disabled at once, removed by the background job
+        Assertions.assertFalse(accountService.loadUserByUsername(account.getEmail()).isEnabled());
+        accountDeletionService.resume(account.getId()).join();
         Assertions.assertFalse(accountRepository.existsByEmail(account.getEmail()));
     }
 
@@ -156,5 +355,7 @@ class AccountServiceTest {
         Assertions.assertNotNull(userDetails);
         Assertions.assertEquals(testEmail, userDetails.getUsername());
         Assertions.assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        Assertions.assertInstanceOf(AccountPrincipal.class, userDetails);
+        Assertions.assertNotNull(((AccountPrincipal) userDetails).getId());
     }
 }
\ No newline at end of file
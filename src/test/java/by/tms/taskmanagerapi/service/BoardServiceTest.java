@@ -0,0 +1,125 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.CursorPageDto;
+import by.tms.taskmanagerapi.dto.board.BoardColumnDto;
+import by.tms.taskmanagerapi.dto.board.BoardDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.exceptions.InvalidCursorException;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+class BoardServiceTest {
+
+    private final BoardService boardService;
+    private final IssueRepository issueRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private Account account;
+
+    @Autowired
+    public BoardServiceTest(BoardService boardService,
+                            IssueRepository issueRepository,
+                            AccountRepository accountRepository,
+                            EntityManagerFactory entityManagerFactory) {
+        this.boardService = boardService;
+        this.issueRepository = issueRepository;
+        this.accountRepository = accountRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @BeforeAll
+    void setUp() {
+        issueRepository.deleteAll();
+        account = new Account();
+        account.setEmail("board@gmail.com");
+        account.setPassword("Password123!");
+        account = accountRepository.save(account);
+        List<Issue> issues = new ArrayList<>();
+        issues.add(issue("low", Status.IN_PROGRESS, Priority.LOW));
+        issues.add(issue("high", Status.IN_PROGRESS, Priority.HIGH));
+        issues.add(issue("none", Status.IN_PROGRESS, null));
+        issues.add(issue("medium", Status.IN_PROGRESS, Priority.MEDIUM));
+        issues.add(issue("newer high", Status.IN_PROGRESS, Priority.HIGH));
+        issues.add(issue("done", Status.DONE, Priority.LOW));
+        issues.add(issue("no status", null, Priority.HIGH));
+        issueRepository.saveAll(issues);
+    }
+
+    @AfterAll
+    void tearDown() {
+        issueRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void boardIsLoadedInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BoardDto board = boardService.getDefaultBoard(3);
+        // one windowed select returns every column together with its accounts
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        Assertions.assertEquals(List.of(Status.values()), board.getColumns().stream().map(BoardColumnDto::getStatus).toList());
+        BoardColumnDto inProgress = board.getColumns().get(Status.IN_PROGRESS.ordinal());
+        Assertions.assertEquals(List.of("newer high", "high", "medium"), titles(inProgress.getIssues()));
+        Assertions.assertEquals(account.getEmail(), inProgress.getIssues().get(0).getAuthor().getEmail());
+        Assertions.assertNotNull(inProgress.getNextCursor());
+
+        BoardColumnDto backlog = board.getColumns().get(Status.BACKLOG.ordinal());
+        Assertions.assertEquals(List.of("no status"), titles(backlog.getIssues()));
+        Assertions.assertNull(backlog.getNextCursor());
+        Assertions.assertEquals(List.of("done"), titles(board.getColumns().get(Status.DONE.ordinal()).getIssues()));
+        Assertions.assertTrue(board.getColumns().get(Status.IN_REVIEW.ordinal()).getIssues().isEmpty());
+    }
+
+    @Test
+    void columnCursorContinuesBoardColumn() {
+        BoardColumnDto inProgress = boardService.getDefaultBoard(2).getColumns().get(Status.IN_PROGRESS.ordinal());
+        CursorPageDto<IssueResponseDto> next = boardService.getDefaultBoardColumn(Status.IN_PROGRESS, inProgress.getNextCursor(), 2);
+        Assertions.assertEquals(List.of("medium", "low"), titles(next.getContent()));
+        CursorPageDto<IssueResponseDto> last = boardService.getDefaultBoardColumn(Status.IN_PROGRESS, next.getNextCursor(), 2);
+        Assertions.assertEquals(List.of("none"), titles(last.getContent()));
+        Assertions.assertNull(last.getNextCursor());
+
+        CursorPageDto<IssueResponseDto> first = boardService.getDefaultBoardColumn(Status.IN_PROGRESS, null, 2);
+        Assertions.assertEquals(titles(inProgress.getIssues()), titles(first.getContent()));
+        Assertions.assertEquals(List.of("no status"), titles(boardService.getDefaultBoardColumn(Status.BACKLOG, "", 10).getContent()));
+    }
+
+    @Test
+    void invalidColumnCursor() {
+        Assertions.assertThrows(InvalidCursorException.class,
+                () -> boardService.getDefaultBoardColumn(Status.DONE, "not-a-cursor", 10));
+    }
+
+    private Issue issue(String title, Status status, Priority priority) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setAuthor(account);
+        issue.setCurrentStatus(status);
+        issue.setPriority(priority);
+        return issue;
+    }
+
+    private List<String> titles(List<IssueResponseDto> issues) {
+        return issues.stream().map(IssueResponseDto::getTitle).toList();
+    }
+}
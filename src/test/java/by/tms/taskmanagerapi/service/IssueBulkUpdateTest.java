@@ -0,0 +1,223 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueBulkChangesDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkFilterDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBulkUpdateDto;
+import by.tms.taskmanagerapi.dto.issue.IssueCountDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Role;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.exceptions.BulkLimitExceededException;
+import by.tms.taskmanagerapi.exceptions.NotFoundException;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static by.tms.taskmanagerapi.StatementCountAssertions.assertMaxStatements;
+import static org.mockito.Mockito.mock;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc
+class IssueBulkUpdateTest {
+
+    private final IssueService issueService;
+    private final IssueSummaryService issueSummaryService;
+    private final IssueRepository issueRepository;
+    private final AccountRepository accountRepository;
+    private final MockMvc mockMvc;
+    private final Authentication adminAuthentication = mock(Authentication.class);
+    private final Authentication userAuthentication = mock(Authentication.class);
+    private Account admin;
+    private Account user;
+
+    @Autowired
+    public IssueBulkUpdateTest(IssueService issueService,
+                               IssueSummaryService issueSummaryService,
+                               IssueRepository issueRepository,
+                               AccountRepository accountRepository,
+                               MockMvc mockMvc) {
+        this.issueService = issueService;
+        this.issueSummaryService = issueSummaryService;
+        this.issueRepository = issueRepository;
+        this.accountRepository = accountRepository;
+        this.mockMvc = mockMvc;
+    }
+
+    @BeforeAll
+    void setUp() {
+        admin = new Account();
+        admin.setEmail("bulk-admin@gmail.com");
+        admin.setPassword("Password123!");
+        admin.setRole(Role.ADMIN);
+        admin = accountRepository.save(admin);
+        user = new Account();
+        user.setEmail("bulk-user@gmail.com");
+        user.setPassword("Password123!");
+        user = accountRepository.save(user);
+        when(adminAuthentication.getName()).thenReturn(admin.getEmail());
+        when(userAuthentication.getName()).thenReturn(user.getEmail());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        issueRepository.deleteAll();
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void updatesSelectedIdsInOneUpdate() {
+        Issue first = save("first", admin, Status.BACKLOG);
+        Issue second = save("second", admin, Status.BACKLOG);
+        Issue untouched = save("untouched", admin, Status.BACKLOG);
+        long inProgressBefore = inProgress();
+
+        IssueBulkChangesDto changes = new IssueBulkChangesDto();
+        changes.setCurrentStatus(Status.IN_PROGRESS);
+        changes.setIdAssignee(user.getId());
+        IssueBulkUpdateDto bulk = new IssueBulkUpdateDto();
+        bulk.setIds(List.of(first.getId(), second.getId()));
+        bulk.setChanges(changes);
+        // caller, locking select, account emails and the update itself
+        List<Long> updated = assertMaxStatements(4,
+                () -> issueService.bulkUpdateIssues(bulk, adminAuthentication)).getUpdated();
+
+        Assertions.assertEquals(List.of(first.getId(), second.getId()), updated);
+        Issue reloaded = issueRepository.findById(first.getId()).orElseThrow();
+        Assertions.assertEquals(Status.IN_PROGRESS, reloaded.getCurrentStatus());
+        Assertions.assertEquals(Priority.LOW, reloaded.getPriority());
+        Assertions.assertEquals(user.getId(), reloaded.getAssignee().getId());
+        Assertions.assertEquals(first.getVersion() + 1, reloaded.getVersion());
+        Assertions.assertTrue(reloaded.getUpdatedAt().isAfter(first.getUpdatedAt()));
+        Assertions.assertEquals(Status.BACKLOG, issueRepository.findById(untouched.getId()).orElseThrow().getCurrentStatus());
+        // events carry the previous state, so the counters move without a recount
+        Assertions.assertEquals(inProgressBefore + 2, inProgress());
+        Assertions.assertEquals(2, issueSummaryService.getSummary(user.getId()).getTotal());
+    }
+
+    @Test
+    void filterIsScopedToOwnIssuesForUsers() {
+        Issue own = save("own", user, Status.BACKLOG);
+        Issue foreign = save("foreign", admin, Status.BACKLOG);
+
+        IssueBulkFilterDto filter = new IssueBulkFilterDto();
+        filter.setCurrentStatus(Status.BACKLOG);
+        IssueBulkChangesDto changes = new IssueBulkChangesDto();
+        changes.setPriority(Priority.HIGH);
+        IssueBulkUpdateDto bulk = new IssueBulkUpdateDto();
+        bulk.setFilter(filter);
+        bulk.setChanges(changes);
+
+        Assertions.assertEquals(List.of(own.getId()), issueService.bulkUpdateIssues(bulk, userAuthentication).getUpdated());
+        Assertions.assertEquals(Priority.HIGH, issueRepository.findById(own.getId()).orElseThrow().getPriority());
+        Assertions.assertEquals(Priority.LOW, issueRepository.findById(foreign.getId()).orElseThrow().getPriority());
+    }
+
+    @Test
+    void unknownAssigneeChangesNothing() {
+        Issue issue = save("issue", admin, Status.BACKLOG);
+
+        IssueBulkChangesDto changes = new IssueBulkChangesDto();
+        changes.setIdAssignee(-1L);
+        IssueBulkUpdateDto bulk = new IssueBulkUpdateDto();
+        bulk.setIds(List.of(issue.getId()));
+        bulk.setChanges(changes);
+
+        Assertions.assertThrows(NotFoundException.class, () -> issueService.bulkUpdateIssues(bulk, adminAuthentication));
+        Assertions.assertEquals(issue.getVersion(), issueRepository.findById(issue.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void selectionOverLimitIsRejected() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(save("issue " + i, admin, Status.BACKLOG).getId());
+        }
+        // shrink the limit instead of seeding a thousand issues
+        Object target = AopTestUtils.getTargetObject(issueService);
+        ReflectionTestUtils.setField(target, "bulkMaxSize", 2);
+
+        IssueBulkChangesDto changes = new IssueBulkChangesDto();
+        changes.setCurrentStatus(Status.DONE);
+        IssueBulkUpdateDto bulk = new IssueBulkUpdateDto();
+        bulk.setIds(ids);
+        bulk.setChanges(changes);
+
+        try {
+            Assertions.assertThrows(BulkLimitExceededException.class, () -> issueService.bulkUpdateIssues(bulk, adminAuthentication));
+        } finally {
+            ReflectionTestUtils.setField(target, "bulkMaxSize", 1000);
+        }
+        Assertions.assertEquals(0, issueRepository.findAll().stream().filter(i -> i.getCurrentStatus() == Status.DONE).count());
+    }
+
+    @Test
+    void emptyFilterIsRejected() throws Exception {
+        Issue issue = save("issue", admin, Status.BACKLOG);
+        String rejection = "Filter needs at least one";
+        bulkRequest("{\"filter\": {}, \"changes\": {\"currentStatus\": \"DONE\"}}", rejection);
+        // a misspelled criterion is ignored, which leaves the filter just as empty
+        bulkRequest("{\"filter\": {\"status\": \"BACKLOG\"}, \"changes\": {\"currentStatus\": \"DONE\"}}", rejection);
+        Assertions.assertEquals(issue.getVersion(), issueRepository.findById(issue.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void changesAreValidated() throws Exception {
+        Issue issue = save("issue", admin, Status.BACKLOG);
+        String rejection = "At least one of currentStatus, priority or idAssignee";
+        bulkRequest("{\"ids\": [" + issue.getId() + "], \"changes\": {}}", rejection);
+        bulkRequest("{\"ids\": [" + issue.getId() + "], \"changes\": {\"title\": \"not a bulk change\"}}", rejection);
+        Assertions.assertEquals(issue.getVersion(), issueRepository.findById(issue.getId()).orElseThrow().getVersion());
+    }
+
+    private void bulkRequest(String body, String rejection) throws Exception {
+        mockMvc.perform(patch("/issues/bulk")
+                        .with(user(admin.getEmail()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString(rejection)));
+    }
+
+    private long inProgress() {
+        return issueSummaryService.getSummary(null).getCounts().stream()
+                .filter(c -> c.getCurrentStatus() == Status.IN_PROGRESS)
+                .mapToLong(IssueCountDto::getCount)
+                .sum();
+    }
+
+    private Issue save(String title, Account author, Status status) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setAuthor(author);
+        issue.setCurrentStatus(status);
+        issue.setPriority(Priority.LOW);
+        return issueRepository.save(issue);
+    }
+}
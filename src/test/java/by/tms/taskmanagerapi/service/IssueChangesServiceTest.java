@@ -0,0 +1,102 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueChangesDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.exceptions.InvalidCursorException;
+import by.tms.taskmanagerapi.exceptions.WatermarkExpiredException;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import by.tms.taskmanagerapi.utils.SyncWatermark;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+class IssueChangesServiceTest {
+
+    private final IssueChangesService issueChangesService;
+    private final IssueService issueService;
+    private final IssueRepository issueRepository;
+    private final AccountRepository accountRepository;
+    private Account account;
+
+    @Autowired
+    public IssueChangesServiceTest(IssueChangesService issueChangesService,
+                                   IssueService issueService,
+                                   IssueRepository issueRepository,
+                                   AccountRepository accountRepository) {
+        this.issueChangesService = issueChangesService;
+        this.issueService = issueService;
+        this.issueRepository = issueRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @BeforeAll
+    void setUp() {
+        account = new Account();
+        account.setEmail("changes@gmail.com");
+        account.setPassword("Password123!");
+        account = accountRepository.save(account);
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void changesArePagedInOrderAndIncludeDeletions() {
+        String since = currentWatermark();
+        Long first = saveIssue("first").getId();
+        Long second = saveIssue("second").getId();
+
+        IssueChangesDto page = issueChangesService.getChanges(since, 1);
+        Assertions.assertTrue(page.isHasMore());
+        Assertions.assertEquals(List.of(first), page.getChanged().stream().map(issue -> issue.getId()).toList());
+        page = issueChangesService.getChanges(page.getNext(), 1);
+        Assertions.assertEquals(List.of(second), page.getChanged().stream().map(issue -> issue.getId()).toList());
+        page = issueChangesService.getChanges(page.getNext(), 1);
+        Assertions.assertFalse(page.isHasMore());
+        Assertions.assertTrue(page.getChanged().isEmpty());
+
+        since = page.getNext();
+        issueService.deleteIssueById(first);
+        page = issueChangesService.getChanges(since, 10);
+        Assertions.assertTrue(page.getChanged().isEmpty());
+        Assertions.assertEquals(List.of(first), page.getDeleted());
+
+        page = issueChangesService.getChanges(page.getNext(), 10);
+        Assertions.assertTrue(page.getChanged().isEmpty());
+        Assertions.assertTrue(page.getDeleted().isEmpty());
+    }
+
+    @Test
+    void invalidAndExpiredWatermarksAreRejected() {
+        Assertions.assertThrows(InvalidCursorException.class, () -> issueChangesService.getChanges("not-a-watermark", 10));
+        String expired = new SyncWatermark(LocalDateTime.now().minusDays(365), 0L).encode();
+        Assertions.assertThrows(WatermarkExpiredException.class, () -> issueChangesService.getChanges(expired, 10));
+    }
+
+    private String currentWatermark() {
+        IssueChangesDto page = issueChangesService.getChanges(null, 500);
+        while (page.isHasMore()) {
+            page = issueChangesService.getChanges(page.getNext(), 500);
+        }
+        return page.getNext();
+    }
+
+    private Issue saveIssue(String title) {
+        Issue issue = new Issue();
+        issue.setAuthor(account);
+        issue.setTitle(title);
+        return issueRepository.save(issue);
+    }
+}
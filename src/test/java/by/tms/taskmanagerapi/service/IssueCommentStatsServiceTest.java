@@ -0,0 +1,201 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.comment.CommentCreateDto;
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Comment;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.event.ChangeType;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.CommentRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static by.tms.taskmanagerapi.StatementCountAssertions.assertMaxStatements;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@RecordApplicationEvents
+class IssueCommentStatsServiceTest {
+
+    private final IssueCommentStatsService issueCommentStatsService;
+    private final IssueService issueService;
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final AccountRepository accountRepository;
+    private final Authentication authentication = mock(Authentication.class);
+    private Account account;
+
+    @Autowired
+    public IssueCommentStatsServiceTest(IssueCommentStatsService issueCommentStatsService,
+                                        IssueService issueService,
+                                        IssueRepository issueRepository,
+                                        CommentRepository commentRepository,
+                                        AccountRepository accountRepository) {
+        this.issueCommentStatsService = issueCommentStatsService;
+        this.issueService = issueService;
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @BeforeAll
+    void setUp() {
+        account = new Account();
+        account.setEmail("comment-stats@gmail.com");
+        account.setPassword("Password123!");
+        account = accountRepository.save(account);
+        when(authentication.getName()).thenReturn(account.getEmail());
+        // rows left by other classes' fixtures must not count as drift here
+        issueCommentStatsService.repair();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        issueRepository.deleteAll();
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void commentChangesMaintainCountAndLastActivity() {
+        Issue issue = issue("stats");
+        CommentResponseDto first = issueService.addComment(issue.getId(), content("first"), authentication);
+        CommentResponseDto second = issueService.addComment(issue.getId(), content("second"), authentication);
+
+        IssueResponseDto afterAdd = issueService.getIssueById(issue.getId());
+        Assertions.assertEquals(2, afterAdd.getCommentCount());
+        assertSameTime(second.getUpdatedAt(), afterAdd.getLastActivityAt());
+
+        CommentResponseDto edited = issueService.patchComment(issue.getId(), first.getId(), content("edited"));
+        IssueResponseDto afterPatch = issueService.getIssueById(issue.getId());
+        Assertions.assertEquals(2, afterPatch.getCommentCount());
+        assertSameTime(edited.getUpdatedAt(), afterPatch.getLastActivityAt());
+
+        // the remaining comment decides the last activity
+        issueService.deleteComment(first.getId(), issue.getId());
+        IssueResponseDto afterDelete = issueService.getIssueById(issue.getId());
+        Assertions.assertEquals(1, afterDelete.getCommentCount());
+        assertSameTime(second.getUpdatedAt(), afterDelete.getLastActivityAt());
+
+        issueService.deleteComment(second.getId(), issue.getId());
+        IssueResponseDto empty = issueService.getIssueById(issue.getId());
+        Assertions.assertEquals(0, empty.getCommentCount());
+        Assertions.assertNull(empty.getLastActivityAt());
+        Assertions.assertEquals(0, issueCommentStatsService.repair());
+    }
+
+    @Test
+    void commentChangesAreIssueUpdates(@Autowired ApplicationEvents events) {
+        Issue issue = issue("announced");
+        String eTag = issueService.getIssueETag(issue.getId());
+        CommentResponseDto comment = issueService.addComment(issue.getId(), content("noted"), authentication);
+        String afterAdd = issueService.getIssueETag(issue.getId());
+        Assertions.assertNotEquals(eTag, afterAdd);
+        issueService.patchComment(issue.getId(), comment.getId(), content("edited"));
+        Assertions.assertNotEquals(afterAdd, issueService.getIssueETag(issue.getId()));
+        issueService.deleteComment(comment.getId(), issue.getId());
+
+        // listeners of issue changes (search, stream, ownership cache) see every new representation
+        List<IssueChangedEvent> updates = events.stream(IssueChangedEvent.class)
+                .filter(event -> event.issueId().equals(issue.getId()) && event.type() == ChangeType.UPDATED)
+                .toList();
+        Assertions.assertEquals(List.of(1, 1, 0), updates.stream().map(event -> event.issue().getCommentCount()).toList());
+        assertSameTime(issueRepository.findById(issue.getId()).orElseThrow().getUpdatedAt(), updates.get(2).issue().getUpdatedAt());
+    }
+
+    @Test
+    void concurrentCommentsAreAllCounted() throws Exception {
+        Issue issue = issue("busy");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<CommentResponseDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> issueService.addComment(issue.getId(), content("concurrent"), authentication)));
+            }
+            for (Future<CommentResponseDto> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(20, issueService.getIssueById(issue.getId()).getCommentCount());
+    }
+
+    @Test
+    void listPagesDoNotReadComments() {
+        for (int i = 0; i < 5; i++) {
+            Issue issue = issue("listed " + i);
+            issueService.addComment(issue.getId(), content("comment"), authentication);
+        }
+        // count and page select only, whatever the number of issues and comments
+        List<IssueResponseDto> issues = assertMaxStatements(2,
+                () -> issueService.getIssuePage(PageRequest.of(0, 10)).getContent());
+        Assertions.assertTrue(issues.stream().allMatch(issue -> issue.getCommentCount() == 1 && issue.getLastActivityAt() != null));
+    }
+
+    @Test
+    void repairRebuildsDriftedIssues() {
+        Issue drifted = issue("drifted");
+        Issue intact = issue("intact");
+        issueService.addComment(intact.getId(), content("kept"), authentication);
+        // written behind the service's back
+        Comment comment = new Comment();
+        comment.setContent("imported");
+        comment.setAuthor(account);
+        comment.setIssue(drifted);
+        comment = commentRepository.save(comment);
+        long intactVersion = issueRepository.findById(intact.getId()).orElseThrow().getVersion();
+
+        Assertions.assertEquals(1, issueCommentStatsService.repair());
+        Issue repaired = issueRepository.findById(drifted.getId()).orElseThrow();
+        Assertions.assertEquals(1, repaired.getCommentCount());
+        assertSameTime(comment.getUpdatedAt(), repaired.getLastActivityAt());
+        Assertions.assertEquals(drifted.getVersion() + 1, repaired.getVersion());
+        Assertions.assertEquals(intactVersion, issueRepository.findById(intact.getId()).orElseThrow().getVersion());
+    }
+
+    private Issue issue(String title) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setAuthor(account);
+        return issueRepository.save(issue);
+    }
+
+    // timestamps are stored with microseconds, the entities in memory may carry nanoseconds
+    private static void assertSameTime(LocalDateTime expected, LocalDateTime actual) {
+        Assertions.assertNotNull(actual);
+        Assertions.assertTrue(Duration.between(expected, actual).abs().toNanos() < 1_000,
+                () -> "Expected " + expected + " but was " + actual);
+    }
+
+    private static CommentCreateDto content(String content) {
+        CommentCreateDto commentCreateDto = new CommentCreateDto();
+        commentCreateDto.setContent(content);
+        return commentCreateDto;
+    }
+}
@@ -0,0 +1,78 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueExportFormat;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+class IssueExportServiceTest {
+
+    private final IssueExportService issueExportService;
+    private final IssueRepository issueRepository;
+    private final AccountRepository accountRepository;
+
+    @Autowired
+    public IssueExportServiceTest(IssueExportService issueExportService,
+                                  IssueRepository issueRepository,
+                                  AccountRepository accountRepository) {
+        this.issueExportService = issueExportService;
+        this.issueRepository = issueRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @BeforeAll
+    void setUp() {
+        Account account = new Account();
+        account.setEmail("export@gmail.com");
+        account.setPassword("Password123!");
+        account = accountRepository.save(account);
+        Issue issue = new Issue();
+        issue.setAuthor(account);
+        issue.setTitle("Title, with \"quotes\"");
+        issueRepository.save(issue);
+        issue = new Issue();
+        issue.setAuthor(account);
+        issue.setAssignee(account);
+        issue.setTitle("Plain title");
+        issueRepository.save(issue);
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        issueExportService.export(IssueExportFormat.NDJSON, outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(issueRepository.count(), lines.length);
+        for (String line : lines) {
+            Assertions.assertTrue(line.startsWith("{") && line.endsWith("}"));
+        }
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        issueExportService.export(IssueExportFormat.CSV, outputStream);
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\n");
+        Assertions.assertEquals(issueRepository.count() + 1, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("id,title"));
+        Assertions.assertTrue(csv.contains("\"Title, with \"\"quotes\"\"\""));
+    }
+}
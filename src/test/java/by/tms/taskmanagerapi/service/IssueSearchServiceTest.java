@@ -0,0 +1,150 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.comment.CommentCreateDto;
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueCreateDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueSearchResultDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Issue;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import org.junit.jupiter.api.*;
+import org.mockito.Mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+class IssueSearchServiceTest {
+
+    private final IssueSearchService issueSearchService;
+    private final IssueService issueService;
+    private final IssueRepository issueRepository;
+    private final AccountRepository accountRepository;
+
+    @Mock
+    private Authentication authentication;
+    private String testEmail = "search@gmail.com";
+    private String assigneeEmail = "search-assignee@gmail.com";
+    private Authentication user = caller(testEmail, "USER");
+    private Authentication admin = caller("search-admin@gmail.com", "ADMIN");
+    private Long assigneeId;
+
+    @Autowired
+    public IssueSearchServiceTest(IssueSearchService issueSearchService,
+                                  IssueService issueService,
+                                  IssueRepository issueRepository,
+                                  AccountRepository accountRepository) {
+        this.issueSearchService = issueSearchService;
+        this.issueService = issueService;
+        this.issueRepository = issueRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @BeforeAll
+    void setUp() {
+        Account account = new Account();
+        account.setEmail(testEmail);
+        account.setPassword("Password123!");
+        accountRepository.save(account);
+        Account assignee = new Account();
+        assignee.setEmail(assigneeEmail);
+        assignee.setPassword("Password123!");
+        assigneeId = accountRepository.save(assignee).getId();
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    private IssueResponseDto createIssue(String title, String description) {
+        return createIssue(title, description, null);
+    }
+
+    private IssueResponseDto createIssue(String title, String description, Long idAssignee) {
+        when(authentication.getName()).thenReturn(testEmail);
+        IssueCreateDto issueCreateDto = new IssueCreateDto();
+        issueCreateDto.setTitle(title);
+        issueCreateDto.setDescription(description);
+        issueCreateDto.setIdAssignee(idAssignee);
+        return issueService.createIssue(issueCreateDto, authentication);
+    }
+
+    private static Authentication caller(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    @Test
+    void searchRanksTitleMatchesFirst() {
+        IssueResponseDto inDescription = createIssue("Login page", "Crash in the zephyrine renderer");
+        IssueResponseDto inTitle = createIssue("Zephyrine renderer crash", "Happens on startup");
+        List<IssueSearchResultDto> results = issueSearchService.search("zephyrine CRASH", 10, user);
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(inTitle.getId(), results.get(0).getId());
+        Assertions.assertEquals(inDescription.getId(), results.get(1).getId());
+        Assertions.assertTrue(results.get(1).getSnippet().contains("zephyrine"));
+    }
+
+    @Test
+    void searchFollowsCommentsAndDeletes() {
+        IssueResponseDto issue = createIssue("Slow dashboard", null);
+        CommentCreateDto commentCreateDto = new CommentCreateDto();
+        commentCreateDto.setContent("Profiling points at the quaggaport cache");
+        CommentResponseDto comment = issueService.addComment(issue.getId(), commentCreateDto, authentication);
+        Assertions.assertEquals(issue.getId(), issueSearchService.search("quaggaport", 10, admin).get(0).getId());
+
+        issueService.deleteComment(comment.getId(), issue.getId());
+        Assertions.assertTrue(issueSearchService.search("quaggaport", 10, admin).isEmpty());
+
+        issueService.deleteIssueById(issue.getId());
+        Assertions.assertTrue(issueSearchService.search("dashboard", 10, admin).stream().noneMatch(result -> result.getId().equals(issue.getId())));
+    }
+
+    @Test
+    void rebuildLoadsExistingIssues() {
+        Issue issue = new Issue();
+        issue.setAuthor(accountRepository.findByEmail(testEmail).orElseThrow());
+        issue.setTitle("Written around the service xylocarp");
+        issue = issueRepository.save(issue);
+        Assertions.assertTrue(issueSearchService.search("xylocarp", 10, user).isEmpty());
+        issueSearchService.rebuild();
+        Assertions.assertEquals(issue.getId(), issueSearchService.search("xylocarp", 10, user).get(0).getId());
+    }
+
+    @Test
+    void commentsAreSearchedOnlyForReadersOfThem() {
+        IssueResponseDto issue = createIssue("Rotate the gateway credentials", null, assigneeId);
+        CommentCreateDto commentCreateDto = new CommentCreateDto();
+        commentCreateDto.setContent("The old gateway secret was wombatine42");
+        issueService.addComment(issue.getId(), commentCreateDto, authentication);
+
+        // the author is not the assignee, so the comment is neither matched nor quoted
+        Assertions.assertTrue(issueSearchService.search("wombatine42", 10, user).isEmpty());
+        List<IssueSearchResultDto> byTitle = issueSearchService.search("gateway", 10, user);
+        Assertions.assertEquals(issue.getId(), byTitle.get(0).getId());
+        Assertions.assertFalse(byTitle.get(0).getSnippet().contains("wombatine42"));
+
+        Authentication assignee = caller(assigneeEmail, "USER");
+        Assertions.assertTrue(issueSearchService.search("wombatine42", 10, assignee).get(0).getSnippet().contains("wombatine42"));
+        Assertions.assertEquals(issue.getId(), issueSearchService.search("wombatine42", 10, admin).get(0).getId());
+
+        // reassigning hands the comments over with the issue
+        IssueCreateDto reassign = new IssueCreateDto();
+        reassign.setIdAssignee(accountRepository.findByEmail(testEmail).orElseThrow().getId());
+        issueService.patchIssue(issue.getId(), reassign);
+        Assertions.assertTrue(issueSearchService.search("wombatine42", 10, assignee).isEmpty());
+        Assertions.assertEquals(issue.getId(), issueSearchService.search("wombatine42 gateway", 10, user).get(0).getId());
+    }
+}
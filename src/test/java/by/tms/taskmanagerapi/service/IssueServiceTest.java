@@ -1,14 +1,24 @@
 package by.tms.taskmanagerapi.service;
 
 
+import by.tms.taskmanagerapi.StatementCountAssertions;
+import by.tms.taskmanagerapi.dto.CursorPageDto;
+import by.tms.taskmanagerapi.dto.Versioned;
 import by.tms.taskmanagerapi.dto.comment.CommentCreateDto;
 import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueBatchResultDto;
 import by.tms.taskmanagerapi.dto.issue.IssueCreateDto;
 import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
 import by.tms.taskmanagerapi.entity.*;
+import by.tms.taskmanagerapi.exceptions.NotFoundException;
+import by.tms.taskmanagerapi.exceptions.PreconditionFailedException;
 import by.tms.taskmanagerapi.repository.AccountRepository;
 import by.tms.taskmanagerapi.repository.CommentRepository;
 import by.tms.taskmanagerapi.repository.IssueRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -17,9 +27,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
 import static org.mockito.Mockito.when;
 
 
@@ -33,6 +48,7 @@ class IssueServiceTest {
     private final IssueRepository issueRepository;
     private final AccountRepository accountRepository;
     private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Mock
     private Authentication authentication;
@@ -53,11 +69,13 @@ class IssueServiceTest {
     public IssueServiceTest(IssueService issueService,
                             IssueRepository issueRepository,
                             AccountRepository accountRepository,
-                            CommentRepository commentRepository) {
+                            CommentRepository commentRepository,
+                            EntityManagerFactory entityManagerFactory) {
         this.issueService = issueService;
         this.issueRepository = issueRepository;
         this.accountRepository = accountRepository;
         this.commentRepository = commentRepository;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     private String generateEmail() {
@@ -97,6 +115,25 @@ class IssueServiceTest {
         Assertions.assertTrue(issueRepository.existsById(issueResponseDto.getId()));
     }
 
+    @Test
+    void createIssues() {
+        when(authentication.getName()).thenReturn(testEmail);
+        IssueCreateDto valid = new IssueCreateDto();
+        valid.setTitle(title);
+        valid.setIdAssignee(testAccount.getId());
+        IssueCreateDto withoutTitle = new IssueCreateDto();
+        IssueCreateDto unknownAssignee = new IssueCreateDto();
+        unknownAssignee.setTitle(title);
+        unknownAssignee.setIdAssignee(-1L);
+        List<IssueBatchResultDto> results = issueService.createIssues(List.of(valid, withoutTitle, unknownAssignee, valid), authentication);
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertTrue(issueRepository.existsById(results.get(0).getId()));
+        Assertions.assertNotNull(results.get(1).getError());
+        Assertions.assertEquals("Assigned user not exist", results.get(2).getError());
+        Assertions.assertTrue(issueRepository.existsById(results.get(3).getId()));
+        Assertions.assertEquals(testAccount.getId(), issueService.getIssueById(results.get(3).getId()).getAssignee().getId());
+    }
+
     @Test
     void isUserAssignedToIssue() {
         Account account = new Account();
@@ -116,6 +153,37 @@ class IssueServiceTest {
         Assertions.assertFalse(issueService.isUserAssignedToIssue(issue.getId(),authentication));
     }
 
+    @Test
+    void ownershipChecksFollowCreateAndDelete() {
+        Account other = new Account();
+        other.setEmail(generateEmail());
+        other.setPassword(testPassword);
+        other = accountRepository.save(other);
+        when(authentication.getName()).thenReturn(testEmail);
+        IssueCreateDto assigned = new IssueCreateDto();
+        assigned.setTitle(title);
+        assigned.setIdAssignee(testAccount.getId());
+        IssueResponseDto issue = issueService.createIssue(assigned, authentication);
+        Assertions.assertTrue(issueService.isUserAssignedToIssue(issue.getId(), authentication));
+        Assertions.assertTrue(issueService.isAuthorIssue(issue.getId(), authentication));
+        when(authentication.getName()).thenReturn(other.getEmail());
+        Assertions.assertFalse(issueService.isUserAssignedToIssue(issue.getId(), authentication));
+        Assertions.assertFalse(issueService.isAuthorIssue(issue.getId(), authentication));
+
+        IssueCreateDto reassign = new IssueCreateDto();
+        reassign.setIdAssignee(other.getId());
+        IssueResponseDto reassigned = issueService.patchIssue(issue.getId(), reassign);
+        Assertions.assertEquals(other.getEmail(), reassigned.getAssignee().getEmail());
+        Assertions.assertTrue(issueService.isUserAssignedToIssue(issue.getId(), authentication));
+        when(authentication.getName()).thenReturn(testEmail);
+        Assertions.assertFalse(issueService.isUserAssignedToIssue(issue.getId(), authentication));
+
+        issueService.deleteIssueById(issue.getId());
+        when(authentication.getName()).thenReturn(testEmail);
+        Assertions.assertFalse(issueService.isUserAssignedToIssue(issue.getId(), authentication));
+        Assertions.assertFalse(issueService.isAuthorIssue(issue.getId(), authentication));
+    }
+
     @Test
     void isAuthorIssue(){
         when(authentication.getName()).thenReturn(generateEmail());
@@ -136,11 +204,11 @@ class IssueServiceTest {
         comment.setAuthor(testAccount);
         comment.setContent(testContent);
         comment.setIssue(issue);
-        commentRepository.save(comment);
+        comment = commentRepository.save(comment);
         when(authentication.getName()).thenReturn(generateEmail());
-        Assertions.assertFalse(issueService.isAuthorComment(testIssue.getId(),authentication));
+        Assertions.assertFalse(issueService.isAuthorComment(comment.getId(),authentication));
         when(authentication.getName()).thenReturn(testEmail);
-        Assertions.assertTrue(issueService.isAuthorComment(testIssue.getId(),authentication));
+        Assertions.assertTrue(issueService.isAuthorComment(comment.getId(),authentication));
     }
     
     @Test
@@ -178,6 +246,57 @@ class IssueServiceTest {
         Assertions.assertEquals(3, page.getContent().size());
     }
 
+    @Test
+    void getIssuePageStatementCount() {
+        for (int i = 0; i < 6; i++) {
+            Account author = new Account();
+            author.setEmail(generateEmail());
+            author.setPassword(testPassword);
+            author = accountRepository.save(author);
+            Account assignee = new Account();
+            assignee.setEmail(generateEmail());
+            assignee.setPassword(testPassword);
+            assignee = accountRepository.save(assignee);
+            Issue issue = new Issue();
+            issue.setAuthor(author);
+            issue.setAssignee(assignee);
+            issue.setTitle(title);
+            issueRepository.save(issue);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<IssueResponseDto> page = issueService.getIssuePage(PageRequest.of(0, 6, Sort.by(Sort.Direction.DESC, "createdAt")));
+        Assertions.assertEquals(6, page.getContent().size());
+        page.getContent().forEach(dto -> Assertions.assertNotNull(dto.getAuthor().getEmail()));
+        // one select for the page with its accounts and one count query
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void getCommentsPageStatementCount() {
+        Issue issue = new Issue();
+        issue.setAuthor(testAccount);
+        issue.setTitle(title);
+        issue = issueRepository.save(issue);
+        for (int i = 0; i < 5; i++) {
+            Account author = new Account();
+            author.setEmail(generateEmail());
+            author.setPassword(testPassword);
+            author = accountRepository.save(author);
+            Comment comment = new Comment();
+            comment.setAuthor(author);
+            comment.setContent(testContent);
+            comment.setIssue(issue);
+            commentRepository.save(comment);
+        }
+        Long issueId = issue.getId();
+        // one select for the comments with their authors and one count query, no lazy author loads from the mapper
+        Page<CommentResponseDto> page = StatementCountAssertions.assertMaxStatements(2,
+                () -> issueService.getCommentsPage(issueId, PageRequest.of(0, 5)));
+        Assertions.assertEquals(5, page.getContent().size());
+        page.getContent().forEach(dto -> Assertions.assertNotNull(dto.getAuthor().getEmail()));
+    }
+
     @Test
     void getIssuePageByAuthorId(){
         Account account = new Account();
@@ -245,6 +364,30 @@ class IssueServiceTest {
         Assertions.assertEquals(5, page.getContent().size());
     }
 
+    @Test
+    void getIssueCursorPageByAuthorId(){
+        Account account = new Account();
+        account.setEmail(generateEmail());
+        account.setPassword(testPassword);
+        account = accountRepository.save(account);
+        for (int i = 0; i < 5; i++) {
+            Issue issue = new Issue();
+            issue.setAuthor(account);
+            issue.setTitle(title);
+            issueRepository.save(issue);
+        }
+        List<Long> ids = new ArrayList<>();
+        CursorPageDto<IssueResponseDto> page = issueService.getIssueCursorPageByAuthorId(account.getId(), "", 2);
+        page.getContent().forEach(dto -> ids.add(dto.getId()));
+        while (page.getNextCursor() != null) {
+            Assertions.assertEquals(2, page.getContent().size());
+            page = issueService.getIssueCursorPageByAuthorId(account.getId(), page.getNextCursor(), 2);
+            page.getContent().forEach(dto -> ids.add(dto.getId()));
+        }
+        Assertions.assertEquals(5, ids.size());
+        Assertions.assertEquals(5, new HashSet<>(ids).size());
+    }
+
     @Test
     void updateIssue() {
        Issue issue = new Issue();
@@ -262,6 +405,96 @@ class IssueServiceTest {
        Assertions.assertNull(issueResponseDto.getDescription());
     }
 
+    @Test
+    void updateIssueStatementCount() {
+        Issue issue = new Issue();
+        issue.setAuthor(testAccount);
+        issue.setAssignee(testAccount);
+        issue.setTitle("oldTitle");
+        issue = issueRepository.save(issue);
+        IssueCreateDto issueCreateDto = new IssueCreateDto();
+        issueCreateDto.setTitle("newTitle");
+        issueCreateDto.setIdAssignee(testAccount.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        IssueResponseDto issueResponseDto = issueService.updateIssue(issue.getId(), issueCreateDto);
+        Assertions.assertEquals(testEmail, issueResponseDto.getAssignee().getEmail());
+        // one select for the issue with its accounts and one update
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void reassignIssueStatementCount() {
+        Account other = new Account();
+        other.setEmail(generateEmail());
+        other.setPassword(testPassword);
+        other = accountRepository.save(other);
+        Issue issue = new Issue();
+        issue.setAuthor(testAccount);
+        issue.setAssignee(testAccount);
+        issue.setTitle("oldTitle");
+        issue = issueRepository.save(issue);
+        IssueCreateDto issueCreateDto = new IssueCreateDto();
+        issueCreateDto.setTitle("newTitle");
+        issueCreateDto.setIdAssignee(other.getId());
+        // the new assignee is not in the second-level cache, so checking it exists reads its row
+        entityManagerFactory.getCache().evict(Account.class, other.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        IssueResponseDto issueResponseDto = issueService.updateIssue(issue.getId(), issueCreateDto);
+        Assertions.assertEquals(other.getEmail(), issueResponseDto.getAssignee().getEmail());
+        // the issue and its current accounts come from the second-level cache:
+        // one select for the new assignee and one update
+        Assertions.assertEquals(1, statistics.getEntityStatistics(Account.class.getName()).getLoadCount());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(other.getId(), issueRepository.findById(issue.getId()).orElseThrow().getAssignee().getId());
+    }
+
+    @Test
+    void updateIssueWithUnknownAssignee() {
+        Issue issue = new Issue();
+        issue.setAuthor(testAccount);
+        issue.setTitle("oldTitle");
+        Long issueId = issueRepository.save(issue).getId();
+        IssueCreateDto issueCreateDto = new IssueCreateDto();
+        issueCreateDto.setTitle("newTitle");
+        issueCreateDto.setIdAssignee(Long.MAX_VALUE);
+        Assertions.assertThrows(NotFoundException.class, () -> issueService.updateIssue(issueId, issueCreateDto));
+        Assertions.assertEquals("oldTitle", issueRepository.findById(issueId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void issueETagFollowsVersionAndGuardsPatch() {
+        Issue issue = new Issue();
+        issue.setAuthor(testAccount);
+        issue.setTitle("oldTitle");
+        Long issueId = issueRepository.save(issue).getId();
+        String eTag = issueService.getIssueETag(issueId);
+        Assertions.assertEquals(eTag, issueService.getIssueETag(issueId));
+
+        IssueCreateDto issueCreateDto = new IssueCreateDto();
+        issueCreateDto.setTitle("newTitle");
+        Versioned<IssueResponseDto> patched = issueService.patchIssue(issueId, issueCreateDto, eTag);
+        Assertions.assertEquals("newTitle", patched.body().getTitle());
+        Assertions.assertNotEquals(eTag, patched.eTag());
+        Assertions.assertEquals(patched.eTag(), issueService.getIssueETag(issueId));
+        // the tag sent with a body matches the version-only tag that answers If-None-Match
+        Versioned<IssueResponseDto> loaded = issueService.getVersionedIssueById(issueId);
+        Assertions.assertEquals("newTitle", loaded.body().getTitle());
+        Assertions.assertEquals(patched.eTag(), loaded.eTag());
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> issueService.patchIssue(issueId, issueCreateDto, eTag));
+        Assertions.assertEquals(patched.eTag(), issueService.getIssueETag(issueId));
+
+        Pageable pageable = PageRequest.of(0, 10);
+        String pageETag = issueService.getCommentsPageETag(issueId, pageable);
+        CommentCreateDto commentCreateDto = new CommentCreateDto();
+        commentCreateDto.setContent(testContent);
+        when(authentication.getName()).thenReturn(testEmail);
+        issueService.addComment(issueId, commentCreateDto, authentication);
+        Assertions.assertNotEquals(pageETag, issueService.getCommentsPageETag(issueId, pageable));
+    }
+
     @Test
     void patchIssue() {
         Issue issue = new Issue();
@@ -375,6 +608,8 @@ class IssueServiceTest {
         issue.setAuthor(testAccount);
         issue.setTitle(title);
         issue.setDescription(description);
+        // the comment below is saved directly, so the issue row is given its count up front
+        issue.setCommentCount(1);
         issue = issueRepository.save(issue);
         Comment comment = new Comment();
         comment.setAuthor(testAccount);
@@ -384,7 +619,14 @@ class IssueServiceTest {
         Pageable pageable = PageRequest.of(0, 3);
         Page<CommentResponseDto> page = issueService.getCommentsPage(issue.getId(), pageable);
         Assertions.assertEquals(1, page.getContent().size());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
         issueService.deleteComment(comment.getId(),issue.getId());
+        // issue row lock with its accounts, the delete, the remaining last activity and the issue update; the change
+        // event is mapped from the locked issue and primes the ownership cache the stream reads for the comment event
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+        Long issueId = issue.getId();
+        Assertions.assertThrows(EntityNotFoundException.class, () -> issueService.deleteComment(Long.MAX_VALUE, issueId));
         pageable = PageRequest.of(0, 3);
         page = issueService.getCommentsPage(issue.getId(), pageable);
         Assertions.assertEquals(0, page.getContent().size());
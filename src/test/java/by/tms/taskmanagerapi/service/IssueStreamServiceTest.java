@@ -0,0 +1,135 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.account.AccountResponseDto;
+import by.tms.taskmanagerapi.dto.comment.CommentResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.event.ChangeType;
+import by.tms.taskmanagerapi.event.CommentChangedEvent;
+import by.tms.taskmanagerapi.event.IssueChangedEvent;
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import by.tms.taskmanagerapi.security.OwnershipIndex;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc
+class IssueStreamServiceTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)\\nevent:issue\\ndata:\\{\"type\":\"CREATED\",\"issueId\":(\\d+)");
+
+    private final IssueStreamService issueStreamService;
+    private final OwnershipIndex ownershipIndex;
+    private final MockMvc mockMvc;
+
+    @Autowired
+    public IssueStreamServiceTest(IssueStreamService issueStreamService, OwnershipIndex ownershipIndex, MockMvc mockMvc) {
+        this.issueStreamService = issueStreamService;
+        this.ownershipIndex = ownershipIndex;
+        this.mockMvc = mockMvc;
+    }
+
+    @Test
+    void subscribersReceiveMatchingEventsAndResume() throws Exception {
+        MockHttpServletResponse all = subscribe("", null);
+        MockHttpServletResponse byAuthor = subscribe("?authorId=1001", null);
+
+        issueStreamService.onIssueChanged(created(9001L, 1001L));
+        issueStreamService.onIssueChanged(created(9002L, 1002L));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(all).contains("\"issueId\":9002"));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(byAuthor).contains("\"issueId\":9001"));
+        Assertions.assertFalse(content(byAuthor).contains("\"issueId\":9002"));
+
+        Matcher first = EVENT_ID.matcher(content(all));
+        Assertions.assertTrue(first.find());
+        Assertions.assertEquals("9001", first.group(2));
+        MockHttpServletResponse resumed = subscribe("", first.group(1));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(resumed).contains("\"issueId\":9002"));
+        Assertions.assertFalse(content(resumed).contains("\"issueId\":9001"));
+
+        MockHttpServletResponse unknown = subscribe("", "earlier-process-42");
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(unknown).contains("event:reset"));
+    }
+
+    @Test
+    void commentEventsReachOnlyAdminsAndTheAssignee() throws Exception {
+        // the issue's owners as the ownership index learns them from a committed change
+        ownershipIndex.onIssueChanged(created(9101L, 1001L, 2001L));
+        MockHttpServletResponse admin = subscribe("", null, user("stream-admin@gmail.com").roles("ADMIN"));
+        AccountPrincipal assigneePrincipal = AccountPrincipal.fromToken(2001L, "stream-assignee@gmail.com", "USER", 0);
+        MockHttpServletResponse assignee = subscribe("", null, authentication(
+                new UsernamePasswordAuthenticationToken(assigneePrincipal, null, assigneePrincipal.getAuthorities())));
+        MockHttpServletResponse other = subscribe("", null);
+
+        CommentResponseDto comment = new CommentResponseDto();
+        comment.setId(7001L);
+        comment.setContent("restricted wombatine");
+        issueStreamService.onCommentChanged(new CommentChangedEvent(ChangeType.CREATED, 9101L, 7001L, comment));
+        issueStreamService.onIssueChanged(created(9102L, 1001L));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(admin).contains("restricted wombatine"));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(assignee).contains("restricted wombatine"));
+        // events are sent in order, so the comment would have arrived before the later issue event
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> content(other).contains("\"issueId\":9102"));
+        Assertions.assertFalse(content(other).contains("\"commentId\":7001"));
+    }
+
+    private MockHttpServletResponse subscribe(String query, String lastEventId) throws Exception {
+        return subscribe(query, lastEventId, user("stream@gmail.com"));
+    }
+
+    private MockHttpServletResponse subscribe(String query, String lastEventId, RequestPostProcessor caller) throws Exception {
+        var builder = get("/issues/stream" + query).with(caller);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String content(MockHttpServletResponse response) throws Exception {
+        return new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static IssueChangedEvent created(Long issueId, Long authorId) {
+        return created(issueId, authorId, null);
+    }
+
+    private static IssueChangedEvent created(Long issueId, Long authorId, Long assigneeId) {
+        IssueResponseDto issue = new IssueResponseDto();
+        issue.setId(issueId);
+        issue.setTitle("streamed");
+        issue.setAuthor(account(authorId));
+        issue.setAssignee(assigneeId == null ? null : account(assigneeId));
+        return new IssueChangedEvent(ChangeType.CREATED, issueId, issue);
+    }
+
+    private static AccountResponseDto account(Long id) {
+        AccountResponseDto account = new AccountResponseDto();
+        account.setId(id);
+        return account;
+    }
+}
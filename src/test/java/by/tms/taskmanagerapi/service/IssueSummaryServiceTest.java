@@ -0,0 +1,95 @@
+package by.tms.taskmanagerapi.service;
+
+import by.tms.taskmanagerapi.dto.issue.IssueCountDto;
+import by.tms.taskmanagerapi.dto.issue.IssueCreateDto;
+import by.tms.taskmanagerapi.dto.issue.IssueResponseDto;
+import by.tms.taskmanagerapi.dto.issue.IssueSummaryDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.entity.Priority;
+import by.tms.taskmanagerapi.entity.Status;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.repository.IssueRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+class IssueSummaryServiceTest {
+
+    private final IssueSummaryService issueSummaryService;
+    private final IssueService issueService;
+    private final IssueRepository issueRepository;
+    private final AccountRepository accountRepository;
+    private final Authentication authentication = mock(Authentication.class);
+    private Account account;
+
+    @Autowired
+    public IssueSummaryServiceTest(IssueSummaryService issueSummaryService,
+                                   IssueService issueService,
+                                   IssueRepository issueRepository,
+                                   AccountRepository accountRepository) {
+        this.issueSummaryService = issueSummaryService;
+        this.issueService = issueService;
+        this.issueRepository = issueRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @BeforeAll
+    void setUp() {
+        account = new Account();
+        account.setEmail("summary@gmail.com");
+        account.setPassword("Password123!");
+        account = accountRepository.save(account);
+        when(authentication.getName()).thenReturn(account.getEmail());
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void countersFollowCreatePatchAndDelete() {
+        issueSummaryService.reconcile();
+        long total = issueSummaryService.getSummary(null).getTotal();
+        Assertions.assertEquals(issueRepository.count(), total);
+        Assertions.assertEquals(0, issueSummaryService.getSummary(account.getId()).getTotal());
+
+        IssueCreateDto issueCreateDto = new IssueCreateDto();
+        issueCreateDto.setTitle("summary");
+        issueCreateDto.setIdAssignee(account.getId());
+        issueCreateDto.setCurrentStatus(Status.IN_PROGRESS);
+        issueCreateDto.setPriority(Priority.HIGH);
+        IssueResponseDto issue = issueService.createIssue(issueCreateDto, authentication);
+        assertSingleCount(Status.IN_PROGRESS, Priority.HIGH);
+        Assertions.assertEquals(total + 1, issueSummaryService.getSummary(null).getTotal());
+
+        IssueCreateDto patch = new IssueCreateDto();
+        patch.setCurrentStatus(Status.DONE);
+        issueService.patchIssue(issue.getId(), patch);
+        assertSingleCount(Status.DONE, Priority.HIGH);
+
+        issueService.deleteIssueById(issue.getId());
+        Assertions.assertEquals(0, issueSummaryService.getSummary(account.getId()).getTotal());
+        Assertions.assertEquals(total, issueSummaryService.getSummary(null).getTotal());
+
+        issueSummaryService.reconcile();
+        Assertions.assertEquals(total, issueSummaryService.getSummary(null).getTotal());
+    }
+
+    private void assertSingleCount(Status status, Priority priority) {
+        IssueSummaryDto summary = issueSummaryService.getSummary(account.getId());
+        Assertions.assertEquals(1, summary.getTotal());
+        IssueCountDto count = summary.getCounts().get(0);
+        Assertions.assertEquals(status, count.getCurrentStatus());
+        Assertions.assertEquals(priority, count.getPriority());
+    }
+}
@@ -0,0 +1,168 @@
+package by.tms.taskmanagerapi.utils;
+
+import by.tms.taskmanagerapi.dto.account.AccountCreateDto;
+import by.tms.taskmanagerapi.entity.Account;
+import by.tms.taskmanagerapi.repository.AccountRepository;
+import by.tms.taskmanagerapi.security.AccountPrincipal;
+import by.tms.taskmanagerapi.service.AccountDeletionService;
+import by.tms.taskmanagerapi.service.AccountService;
+import by.tms.taskmanagerapi.utils.JwtTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+class JwtTokenCacheTest {
+
+    private final JwtTokenCache jwtTokenCache;
+    private final AccountService accountService;
+    private final AccountDeletionService accountDeletionService;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicInteger verifications = new AtomicInteger();
+    private int tokenIndex = 1;
+    private int emailIndex = 1;
+
+    @Autowired
+    public JwtTokenCacheTest(JwtTokenCache jwtTokenCache,
+                             AccountService accountService,
+                             AccountDeletionService accountDeletionService,
+                             AccountRepository accountRepository,
+                             TransactionTemplate transactionTemplate) {
+        this.jwtTokenCache = jwtTokenCache;
+        this.accountService = accountService;
+        this.accountDeletionService = accountDeletionService;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @BeforeEach
+    void setUp() {
+        verifications.set(0);
+    }
+
+    @AfterAll
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void verifiedTokensAreServedFromCache() {
+        String token = token();
+        VerifiedToken first = jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+        VerifiedToken second = jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, verifications.get());
+        jwtTokenCache.get(token(), verifier(Duration.ofHours(1)));
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void accountUpdateEvictsAfterCommit() {
+        Account account = account();
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn(account.getEmail());
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword("Changed123!");
+        String token = token();
+        jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            accountService.updateAccount(accountCreateDto, authentication);
+            // still the committed principal until the new password is visible to the verifier
+            jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+            Assertions.assertEquals(1, verifications.get());
+        });
+        jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void rolledBackUpdateKeepsEntries() {
+        Account account = account();
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn(account.getEmail());
+        AccountCreateDto accountCreateDto = new AccountCreateDto();
+        accountCreateDto.setEmail(generateEmail());
+        accountCreateDto.setPassword("Changed123!");
+        String token = token();
+        jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            accountService.updateAccount(accountCreateDto, authentication);
+            status.setRollbackOnly();
+        });
+        jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+        Assertions.assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void accountDeletionEvicts() {
+        Account account = account();
+        String token = token();
+        jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+        accountService.deleteById(account.getId());
+        jwtTokenCache.get(token, verifier(Duration.ofHours(1)));
+        Assertions.assertEquals(2, verifications.get());
+        accountDeletionService.resume(account.getId()).join();
+    }
+
+    @Test
+    void entriesExpireAfterTtlOrTokenExpiration() throws InterruptedException {
+        JwtTokenCache shortLived = new JwtTokenCache(100, Duration.ofMillis(100), new SimpleMeterRegistry());
+        String token = token();
+        shortLived.get(token, verifier(Duration.ofHours(1)));
+        JwtTokenCache longLived = new JwtTokenCache(100, Duration.ofHours(1), new SimpleMeterRegistry());
+        String expiring = token();
+        longLived.get(expiring, verifier(Duration.ofMillis(100)));
+        Assertions.assertEquals(2, verifications.get());
+
+        Thread.sleep(250);
+        shortLived.get(token, verifier(Duration.ofHours(1)));
+        longLived.get(expiring, verifier(Duration.ofHours(1)));
+        Assertions.assertEquals(4, verifications.get());
+    }
+
+    // Stands in for the filter's parse-and-load, counting how often the cache falls through to it
+    private Function<String, VerifiedToken> verifier(Duration validity) {
+        return token -> {
+            verifications.incrementAndGet();
+            Claims claims = Jwts.claims().setSubject(token);
+            claims.setExpiration(new Date(System.currentTimeMillis() + validity.toMillis()));
+            return new VerifiedToken(claims, AccountPrincipal.fromToken(1L, token, "USER", 0));
+        };
+    }
+
+    private String token() {
+        return "token-cache-test-" + (tokenIndex++);
+    }
+
+    private String generateEmail() {
+        return "token-cache" + (emailIndex++) + "@gmail.com";
+    }
+
+    private Account account() {
+        Account account = new Account();
+        account.setEmail(generateEmail());
+        account.setPassword("Password123!");
+        return accountRepository.save(account);
+    }
+}